@@ -0,0 +1,63 @@
+package io.kestra.plugin.klaviyo;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Decoding of JSON:API responses into rows, compared with Jackson's generic map binding as a baseline.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonApiDecoderBenchmark {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+
+    @Param({"10", "100"})
+    private int pageSize;
+
+    private byte[] campaignPage;
+    private byte[] message;
+
+    @Setup
+    public void setup() throws Exception {
+        campaignPage = Payloads.campaignPage(pageSize);
+        message = Payloads.messageWithCampaign();
+    }
+
+    @Benchmark
+    public JsonApiDecoder.Document campaignPage() throws Exception {
+        return JsonApiDecoder.decode(campaignPage, null);
+    }
+
+    @Benchmark
+    public JsonApiDecoder.Document campaignPageProjected() throws Exception {
+        return JsonApiDecoder.decode(campaignPage, Set.of("name", "status", "updated_at"));
+    }
+
+    @Benchmark
+    public Map<String, Object> campaignPageAsMap() throws Exception {
+        return MAPPER.readValue(campaignPage, MAP_TYPE);
+    }
+
+    @Benchmark
+    public JsonApiDecoder.Document messageWithIncludedCampaign() throws Exception {
+        return JsonApiDecoder.decode(message, null);
+    }
+
+    @Benchmark
+    public Map<String, Object> messageWithIncludedCampaignAsMap() throws Exception {
+        return MAPPER.readValue(message, MAP_TYPE);
+    }
+}
@@ -0,0 +1,117 @@
+package io.kestra.plugin.klaviyo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Representative JSON:API payloads, shaped like the Klaviyo campaign and campaign message responses.
+ */
+final class Payloads {
+    private Payloads() {
+    }
+
+    /**
+     * @return a {@code GET /campaigns} page of {@code size} email campaigns with a next link
+     */
+    static byte[] campaignPage(int size) throws Exception {
+        List<Map<String, Object>> campaigns = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            campaigns.add(campaign(String.format("01HCAMPAIGN%015d", i)));
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("data", campaigns);
+        document.put("links", Map.of(
+            "self", "https://a.klaviyo.com/api/campaigns",
+            "next", "https://a.klaviyo.com/api/campaigns?page%5Bcursor%5D=bmV4dDo6aWQ6OjQzOTU3MTUxMzA"
+        ));
+
+        return JacksonMapper.ofJson().writeValueAsString(document).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return a {@code GET /campaign-messages/{id}?include=campaign} document
+     */
+    static byte[] messageWithCampaign() throws Exception {
+        String campaignId = "01HCAMPAIGN000000000000001";
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("label", "Spring sale - main");
+        attributes.put("channel", "email");
+        attributes.put("content", Map.of(
+            "subject", "Our spring sale starts now",
+            "preview_text", "Up to 40% off everything",
+            "from_email", "store@example.com",
+            "from_label", "Example Store",
+            "reply_to_email", "support@example.com",
+            "cc_email", "",
+            "bcc_email", ""
+        ));
+        attributes.put("send_times", List.of(Map.of("datetime", "2024-03-01T09:00:00+00:00", "is_local", false)));
+        attributes.put("render_options", Map.of("shorten_links", true, "add_org_prefix", true, "add_info_link", true, "add_opt_out_language", false));
+        attributes.put("created_at", "2024-02-20T10:15:00+00:00");
+        attributes.put("updated_at", "2024-02-28T16:42:00+00:00");
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "campaign-message");
+        message.put("id", "01HMESSAGE0000000000000001");
+        message.put("attributes", attributes);
+        message.put("relationships", Map.of(
+            "campaign", Map.of("data", Map.of("type", "campaign", "id", campaignId)),
+            "template", Map.of("data", Map.of("type", "template", "id", "T3mPl4"))
+        ));
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("data", message);
+        document.put("included", List.of(campaign(campaignId)));
+
+        return JacksonMapper.ofJson().writeValueAsString(document).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return {@code size} decoded campaign rows, as handed to the fetch strategy
+     */
+    static List<Map<String, Object>> rows(int size) throws Exception {
+        return JsonApiDecoder.decode(campaignPage(size), null).data();
+    }
+
+    private static Map<String, Object> campaign(String id) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("name", "Spring sale " + id);
+        attributes.put("status", "Sent");
+        attributes.put("archived", false);
+        attributes.put("audiences", Map.of("included", List.of("Y6nRLr", "UTd5ui"), "excluded", List.of("XyZ123")));
+        attributes.put("send_options", Map.of("use_smart_sending", true));
+        attributes.put("tracking_options", Map.of(
+            "add_tracking_params", true,
+            "custom_tracking_params", List.of(Map.of("type", "static", "value", "spring", "name", "utm_campaign")),
+            "is_tracking_clicks", true,
+            "is_tracking_opens", true
+        ));
+        attributes.put("send_strategy", Map.of(
+            "method", "static",
+            "datetime", "2024-03-01T09:00:00+00:00",
+            "options", Map.of("is_local", false, "send_past_recipients_immediately", false)
+        ));
+        attributes.put("created_at", "2024-02-20T10:15:00+00:00");
+        attributes.put("scheduled_at", "2024-02-28T16:42:00+00:00");
+        attributes.put("updated_at", "2024-02-28T16:42:00+00:00");
+        attributes.put("send_time", "2024-03-01T09:00:00+00:00");
+
+        Map<String, Object> campaign = new LinkedHashMap<>();
+        campaign.put("type", "campaign");
+        campaign.put("id", id);
+        campaign.put("attributes", attributes);
+        campaign.put("relationships", Map.of(
+            "campaign-messages", Map.of("data", List.of(Map.of("type", "campaign-message", "id", id.replace("CAMPAIGN", "MESSAGE")))),
+            "tags", Map.of("data", List.of())
+        ));
+        campaign.put("links", Map.of("self", "https://a.klaviyo.com/api/campaigns/" + id));
+        return campaign;
+    }
+}
@@ -0,0 +1,49 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.kestra.core.serializers.FileSerde;
+
+/**
+ * Writing decoded rows to an ION file through {@link FileSerde}, as the {@code STORE} fetch strategy does.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StoreBenchmark {
+    @Param({"1000", "10000"})
+    private int rowCount;
+
+    private List<Map<String, Object>> rows;
+    private File file;
+
+    @Setup
+    public void setup() throws Exception {
+        rows = Payloads.rows(rowCount);
+        file = Files.createTempFile("klaviyo-store-benchmark", ".ion").toFile();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public long store() throws Exception {
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file), FileSerde.BUFFER_SIZE)) {
+            for (Map<String, Object> row : rows) {
+                FileSerde.write(output, row);
+            }
+        }
+        return file.length();
+    }
+}
@@ -0,0 +1,209 @@
+package io.kestra.plugin.klaviyo;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Tasks fetching a list of resources by ID, with a KV cache of the responses, per-ID errors and checkpoints.
+ */
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractKlaviyoByIdTask extends AbstractKlaviyoTask {
+
+    @Schema(
+        title = "Cache TTL",
+        description = "When set, resources fetched by ID are cached in the namespace KV store for this long, so repeated lookups across executions skip the network. Stale entries returned with an `ETag` are revalidated with a conditional request."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Duration> cacheTtl;
+
+    @Schema(
+        title = "Cache TTL per resource type",
+        description = "TTL overrides keyed by JSON:API resource type, e.g. `campaign-message: PT1H`; `PT0S` disables caching for a type. Only used when `cacheTtl` is set."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Map<String, Duration>> cacheTtls;
+
+    @Schema(
+        title = "Error mode",
+        description = "`FAIL_FAST` (default) fails the task on the first ID that cannot be retrieved. `CONTINUE` keeps fetching the other IDs, outputs their rows and lists each failed ID in `errors` with its HTTP status and response body."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<ErrorMode> errorMode = Property.ofValue(ErrorMode.FAIL_FAST);
+
+    @Schema(
+        title = "Checkpoint interval",
+        description = "When set, progress is saved every this many IDs: the rows fetched so far go to internal storage and the count of completed IDs to the namespace KV store. A retry or resubmission of the same task run then skips the IDs already fetched instead of starting over."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Integer> checkpointInterval;
+
+    /**
+     * Fetches one resource per ID, running up to {@code concurrency} requests in parallel on virtual threads
+     * paced by the endpoint rate limit tier, and applies the fetch strategy to the rows in input order.
+     * <p>
+     * IDs resolving to the same path are requested once: later occurrences wait for the in-flight request and reuse
+     * its row, which is released after its last occurrence, so the output still has one row per input position.
+     */
+    protected Output fetchByIds(RunContext runContext, List<String> ids, String resourceName, RateLimitTier tier, Function<String, String> pathResolver) throws Exception {
+        Set<String> rAttributes = attributes(runContext);
+        ErrorMode rErrorMode = runContext.render(this.errorMode).as(ErrorMode.class).orElse(ErrorMode.FAIL_FAST);
+        ResponseCache cache = cache(runContext);
+
+        Map<String, CompletableFuture<Map<String, Object>>> shared = new ConcurrentHashMap<>();
+        Map<Integer, Map<String, Object>> errors = new ConcurrentSkipListMap<>();
+
+        try (KlaviyoClient client = client(runContext)) {
+            return fetchResumable(runContext, ids, 1, errors, start -> {
+                List<String> remaining = ids.subList(start, ids.size());
+                Map<String, AtomicInteger> occurrences = new HashMap<>();
+                remaining.forEach(id -> occurrences.computeIfAbsent(pathResolver.apply(id), path -> new AtomicInteger()).incrementAndGet());
+                if (occurrences.size() < remaining.size()) {
+                    runContext.logger().debug("{} duplicate ID(s) will reuse the row of their first occurrence", remaining.size() - occurrences.size());
+                }
+
+                return positions -> {
+                    int position = positions.getFirst();
+                    String id = ids.get(position);
+                    String path = pathResolver.apply(id);
+                    CompletableFuture<Map<String, Object>> request = new CompletableFuture<>();
+                    CompletableFuture<Map<String, Object>> inFlight = shared.putIfAbsent(path, request);
+
+                    Map<String, Object> row = null;
+                    try {
+                        if (inFlight == null) {
+                            try {
+                                row = client.fetchData(path, tier, resourceName + " " + id, rAttributes, cache);
+                                request.complete(row);
+                            } catch (Exception e) {
+                                request.completeExceptionally(e);
+                                throw e;
+                            }
+                        } else {
+                            row = await(inFlight);
+                        }
+                    } catch (Exception e) {
+                        if (rErrorMode == ErrorMode.FAIL_FAST || e instanceof InterruptedException) {
+                            throw e;
+                        }
+                        errors.put(position, error(id, e));
+                    } finally {
+                        if (occurrences.get(path).decrementAndGet() == 0) {
+                            shared.remove(path);
+                        }
+                    }
+
+                    return row == null ? List.of() : List.of(row);
+                };
+            });
+        } finally {
+            if (cache != null) {
+                cache.report(runContext);
+            }
+        }
+    }
+
+    /**
+     * Runs the fetcher on consecutive groups of up to {@code groupSize} input positions, with up to {@code concurrency}
+     * groups in flight, and applies the fetch strategy to the rows in input order.
+     * <p>
+     * With a {@code checkpointInterval}, the IDs completed by a previous attempt of the task run are replayed from
+     * their checkpoint instead of being fetched again, so the fetcher only sees the positions from {@code start} on.
+     *
+     * @param errors where the fetcher reports failed IDs by input position, output in {@code CONTINUE} error mode
+     * @param fetchers creates the fetcher given the first position left to fetch
+     */
+    protected Output fetchResumable(RunContext runContext, List<String> ids, int groupSize, Map<Integer, Map<String, Object>> errors, IntFunction<Fetcher<List<Integer>>> fetchers) throws Exception {
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+        int rConcurrency = concurrency(runContext);
+        ErrorMode rErrorMode = runContext.render(this.errorMode).as(ErrorMode.class).orElse(ErrorMode.FAIL_FAST);
+
+        Optional<Integer> rCheckpointInterval = runContext.render(this.checkpointInterval).as(Integer.class);
+        Checkpoint checkpoint = rCheckpointInterval.isPresent() ? Checkpoint.load(runContext, ids, Math.max(1, rCheckpointInterval.get())) : null;
+        int start = checkpoint == null ? 0 : checkpoint.completed();
+        if (checkpoint != null) {
+            errors.putAll(checkpoint.errors());
+        }
+
+        List<List<Integer>> groups = partition(IntStream.range(start, ids.size()).boxed().toList(), groupSize);
+        Fetcher<List<Integer>> fetcher = fetchers.apply(start);
+
+        Output output;
+        try {
+            output = applyFetchStrategy(rFetchType, consumer -> {
+                if (checkpoint == null) {
+                    fetchInOrder(groups, rConcurrency, fetcher, consumer);
+                    return;
+                }
+
+                checkpoint.replay(consumer);
+                Iterator<List<Integer>> completed = groups.iterator();
+                fetchInOrder(
+                    groups,
+                    rConcurrency,
+                    fetcher,
+                    row -> {
+                        checkpoint.write(row);
+                        consumer.accept(row);
+                    },
+                    () -> checkpoint.complete(completed.next().size(), errors)
+                );
+            }, runContext, rErrorMode == ErrorMode.CONTINUE ? errors.values() : null);
+        } finally {
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+        }
+
+        if (checkpoint != null) {
+            checkpoint.clear();
+        }
+
+        return output;
+    }
+
+    /**
+     * @return the KV-backed response cache, or {@code null} when {@code cacheTtl} is not set
+     */
+    protected ResponseCache cache(RunContext runContext) throws Exception {
+        Duration rCacheTtl = runContext.render(this.cacheTtl).as(Duration.class).orElse(null);
+        if (rCacheTtl == null) {
+            return null;
+        }
+
+        String rApiKey = runContext.render(this.apiKey).as(String.class).orElseThrow();
+        String rBaseUrl = runContext.render(this.baseUrl).as(String.class).orElseThrow();
+
+        return new ResponseCache(
+            runContext.namespaceKv(runContext.flowInfo().namespace()),
+            rApiKey + "\n" + rBaseUrl + "\n" + getApiVersion(),
+            rCacheTtl,
+            runContext.render(this.cacheTtls).asMap(String.class, Duration.class)
+        );
+    }
+}
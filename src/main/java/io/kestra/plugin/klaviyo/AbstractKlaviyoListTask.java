@@ -0,0 +1,50 @@
+package io.kestra.plugin.klaviyo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractKlaviyoListTask extends AbstractKlaviyoTask {
+
+    @Schema(title = "Filter", description = "Klaviyo filter expression, e.g. `equals(status,'Sent')`; see the endpoint documentation for the supported fields and operators.")
+    @PluginProperty(group = "main")
+    protected Property<String> filter;
+
+    @Schema(title = "Sort", description = "Field to sort by, prefixed with `-` for descending order, e.g. `-updated_at`.")
+    @PluginProperty(group = "main")
+    protected Property<String> sort;
+
+    @Schema(title = "Page size", description = "Number of resources per page (`page[size]`), for endpoints that support it; the Klaviyo default is used when unset.")
+    @PluginProperty(group = "execution")
+    protected Property<Integer> pageSize;
+
+    /**
+     * Appends the rendered filter, sort and page size to a collection path; {@code filters} are combined with the
+     * {@code filter} property, Klaviyo treating comma-separated conditions as a conjunction.
+     */
+    protected String listPath(RunContext runContext, String path, List<String> filters) throws Exception {
+        List<String> conditions = new ArrayList<>(filters);
+        runContext.render(this.filter).as(String.class).ifPresent(conditions::add);
+
+        List<String> parameters = new ArrayList<>();
+        if (!conditions.isEmpty()) {
+            parameters.add("filter=" + KlaviyoClient.encode(String.join(",", conditions)));
+        }
+        runContext.render(this.sort).as(String.class).ifPresent(rSort -> parameters.add("sort=" + KlaviyoClient.encode(rSort)));
+        runContext.render(this.pageSize).as(Integer.class).ifPresent(rPageSize -> parameters.add(KlaviyoClient.encode("page[size]") + "=" + rPageSize));
+
+        return parameters.isEmpty() ? path : path + "?" + String.join("&", parameters);
+    }
+}
@@ -3,9 +3,27 @@ package io.kestra.plugin.klaviyo;
 import java.io.*;
 import java.net.URI;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
 
+import io.kestra.core.http.client.HttpClient;
+import io.kestra.core.http.client.configurations.HttpConfiguration;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.models.tasks.common.FetchType;
@@ -16,8 +34,6 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
-
-import static org.awaitility.Awaitility.await;
 import io.kestra.core.models.annotations.PluginProperty;
 
 @SuperBuilder
@@ -28,6 +44,7 @@ import io.kestra.core.models.annotations.PluginProperty;
 public abstract class AbstractKlaviyoTask extends Task {
 
     private static final String API_VERSION = "2025-10-15";
+    private static final int DEFAULT_CONCURRENCY = 5;
 
     @Schema(title = "Klaviyo private API Key", description = "Klaviyo Private API Key sent as `Klaviyo-API-Key`; keep secret.")
     @NotNull
@@ -44,18 +61,321 @@ public abstract class AbstractKlaviyoTask extends Task {
     @PluginProperty(group = "execution")
     protected Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
 
+    @Schema(title = "Concurrency", description = "Maximum number of API requests in flight at once; the request rate stays bounded by the endpoint rate limits and rows are still returned in input order.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> concurrency = Property.ofValue(DEFAULT_CONCURRENCY);
+
+    @Schema(title = "Maximum attempts per request", description = "Attempts made for a single request failing with a 429, a 5xx or an IO error before the task fails; `1` disables retries.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> maxAttempts = Property.ofValue(5);
+
+    @Schema(title = "Initial retry backoff", description = "Upper bound of the first retry delay; it doubles on each attempt up to `maxBackoff` and the actual delay is randomly jittered below it.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> initialBackoff = Property.ofValue(Duration.ofSeconds(1));
+
+    @Schema(title = "Maximum retry backoff", description = "Upper bound of a single retry delay.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> maxBackoff = Property.ofValue(Duration.ofSeconds(30));
+
+    @Schema(title = "Retry budget", description = "Total time the task may spend waiting between retries, across all requests; once spent, the next failing request fails the task.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> retryBudget = Property.ofValue(Duration.ofMinutes(5));
+
+    @Schema(title = "Attributes to keep", description = "Names of the resource `attributes` to keep in each row; other attributes are skipped while the response is parsed. All attributes are kept when empty.")
+    @PluginProperty(group = "execution")
+    protected Property<List<String>> attributes;
+
+    @Schema(
+        title = "Sparse fieldsets",
+        description = "Attributes to request per resource type, sent as `fields[<type>]`, e.g. `campaign: [name, status]`; Klaviyo then only returns these attributes."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Map<String, List<String>>> fields;
+
+    @Schema(
+        title = "Related resources to include",
+        description = "Relationships to sideload with each resource, sent as `include`, e.g. `campaign` on campaign messages. Included resources are merged into each row under `included`, keyed by relationship name."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<List<String>> include;
+
     protected String getApiVersion() {
         return API_VERSION;
     }
 
-    protected Output applyFetchStrategy(FetchType rFetchType, List<Map<String, Object>> data, RunContext runContext) throws IOException {
+    /**
+     * Parses a date-time property, given as an ISO 8601 date-time or as a date taken at midnight UTC.
+     */
+    protected static Instant dateTime(String value) {
+        return value.length() == 10
+            ? LocalDate.parse(value).atStartOfDay(ZoneOffset.UTC).toInstant()
+            : OffsetDateTime.parse(value).toInstant();
+    }
+
+    /**
+     * Describes an ID that could not be retrieved, for the {@code errors} output of the {@link ErrorMode#CONTINUE} mode.
+     */
+    protected static Map<String, Object> error(String id, Exception e) {
+        Map<String, Object> error = new LinkedHashMap<>();
+        error.put("id", id);
+        if (e instanceof KlaviyoApiException apiException) {
+            error.put("status", apiException.getStatus());
+            error.put("body", apiException.getBody());
+        } else {
+            error.put("status", null);
+            error.put("body", e.getMessage());
+        }
+        return error;
+    }
+
+    /**
+     * Runs the fetcher on each input, with up to {@code concurrency} inputs in flight on virtual threads, and hands
+     * the rows to the consumer in input order. Only the in-flight window is held in memory.
+     */
+    protected <T> void fetchInOrder(Iterable<T> inputs, int concurrency, Fetcher<T> fetcher, RowConsumer consumer) throws Exception {
+        fetchInOrder(inputs, concurrency, fetcher, consumer, () -> {});
+    }
+
+    /**
+     * Same as {@link #fetchInOrder(Iterable, int, Fetcher, RowConsumer)}, notifying {@code progress} once all the rows
+     * of an input were consumed.
+     */
+    protected <T> void fetchInOrder(Iterable<T> inputs, int concurrency, Fetcher<T> fetcher, RowConsumer consumer, Progress progress) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Deque<Future<List<Map<String, Object>>>> inFlight = new ArrayDeque<>();
+
+            try {
+                for (T input : inputs) {
+                    if (inFlight.size() >= concurrency) {
+                        collect(inFlight.poll(), consumer);
+                        progress.advance();
+                    }
+
+                    inFlight.add(executor.submit(() -> fetcher.fetch(input)));
+                }
+
+                while (!inFlight.isEmpty()) {
+                    collect(inFlight.poll(), consumer);
+                    progress.advance();
+                }
+            } catch (Exception e) {
+                executor.shutdownNow();
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Streams the rows of each input, with up to {@code concurrency} inputs in flight on virtual threads, and hands
+     * them to the consumer in input order. Unlike {@link #fetchInOrder}, the rows of the input whose turn it is go
+     * straight to the consumer as they are produced; only the inputs running ahead of their turn are buffered.
+     *
+     * @param buffers creates the buffer of an input running ahead of its turn
+     */
+    protected <T> void streamInOrder(Iterable<T> inputs, int concurrency, Streamer<T> streamer, RowConsumer consumer, Supplier<RowBuffer> buffers) throws Exception {
+        Deque<Lane> inFlight = new ArrayDeque<>();
+
+        try {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                try {
+                    for (T input : inputs) {
+                        if (inFlight.size() >= concurrency) {
+                            inFlight.poll().drainTo(consumer);
+                        }
+
+                        Lane lane = new Lane(buffers.get());
+                        lane.future = executor.submit(() -> {
+                            streamer.stream(input, lane::accept);
+                            return null;
+                        });
+                        inFlight.add(lane);
+                    }
+
+                    while (!inFlight.isEmpty()) {
+                        inFlight.poll().drainTo(consumer);
+                    }
+                } catch (Exception e) {
+                    executor.shutdownNow();
+                    throw e;
+                }
+            }
+        } catch (Exception e) {
+            // all the producers are stopped once the executor is closed, so the buffers left behind can be released
+            for (Lane lane : inFlight) {
+                try {
+                    lane.close();
+                } catch (Exception closeException) {
+                    e.addSuppressed(closeException);
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the client shared by all the requests of a run. Its HTTP client returns non-2xx responses instead of
+     * throwing, so the rate limit headers of throttled responses can be read.
+     */
+    protected KlaviyoClient client(RunContext runContext) throws Exception {
+        String rApiKey = runContext.render(this.apiKey).as(String.class).orElseThrow();
+        String rBaseUrl = runContext.render(this.baseUrl).as(String.class).orElseThrow();
 
-        Output.OutputBuilder output = Output.builder();
+        HttpClient httpClient = HttpClient.builder()
+            .runContext(runContext)
+            .configuration(HttpConfiguration.builder()
+                .allowFailed(Property.ofValue(true))
+                .build()
+            )
+            .build();
+
+        return new KlaviyoClient(httpClient, rBaseUrl, rApiKey, getApiVersion(), retryPolicy(runContext), sparseQuery(runContext), new RequestMetrics(runContext));
+    }
+
+    /**
+     * @return the encoded {@code fields[...]} and {@code include} query parameters, or {@code null} when none is set
+     */
+    protected String sparseQuery(RunContext runContext) throws Exception {
+        List<String> parameters = new ArrayList<>();
+
+        Map<String, List<String>> rFields = fields(runContext);
+        rFields.forEach((type, names) -> parameters.add(
+            KlaviyoClient.encode("fields[" + type + "]") + "=" + KlaviyoClient.encode(String.join(",", names))
+        ));
+
+        List<String> rInclude = runContext.render(this.include).asList(String.class);
+        if (!rInclude.isEmpty()) {
+            parameters.add("include=" + KlaviyoClient.encode(String.join(",", rInclude)));
+        }
+
+        return parameters.isEmpty() ? null : String.join("&", parameters);
+    }
+
+    /**
+     * @return the rendered sparse fieldsets, keyed by resource type
+     */
+    protected Map<String, List<String>> fields(RunContext runContext) throws Exception {
+        Map<String, ?> rFields = runContext.render(this.fields).asMap(String.class, List.class);
+
+        Map<String, List<String>> fields = new LinkedHashMap<>();
+        rFields.forEach((type, names) -> fields.put(type, ((List<?>) names).stream().map(String::valueOf).toList()));
+        return fields;
+    }
+
+    /**
+     * @return the rendered {@code concurrency}, at least 1
+     */
+    protected int concurrency(RunContext runContext) throws Exception {
+        return Math.max(1, runContext.render(this.concurrency).as(Integer.class).orElse(DEFAULT_CONCURRENCY));
+    }
+
+    /**
+     * @return the attribute projection, or {@code null} to keep all attributes
+     */
+    protected Set<String> attributes(RunContext runContext) throws Exception {
+        List<String> rAttributes = runContext.render(this.attributes).asList(String.class);
+        return rAttributes.isEmpty() ? null : Set.copyOf(rAttributes);
+    }
+
+    protected RetryPolicy retryPolicy(RunContext runContext) throws Exception {
+        return new RetryPolicy(
+            runContext.render(this.maxAttempts).as(Integer.class).orElse(5),
+            runContext.render(this.initialBackoff).as(Duration.class).orElse(Duration.ofSeconds(1)),
+            runContext.render(this.maxBackoff).as(Duration.class).orElse(Duration.ofSeconds(30)),
+            runContext.render(this.retryBudget).as(Duration.class).orElse(Duration.ofMinutes(5)),
+            runContext.logger()
+        );
+    }
+
+    protected static <T> List<List<T>> partition(List<T> list, int size) {
+        List<List<T>> partitions = new ArrayList<>();
+        for (int from = 0; from < list.size(); from += size) {
+            partitions.add(list.subList(from, Math.min(from + size, list.size())));
+        }
+        return partitions;
+    }
+
+    /**
+     * Follows the {@code links.next} cursors of a collection and hands each row to the consumer; the next page is
+     * prefetched while the rows of the current one are consumed.
+     */
+    protected void paginate(KlaviyoClient client, String path, RateLimitTier tier, String description, Set<String> rAttributes, RowConsumer consumer) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            JsonApiDecoder.Document page = client.fetchPage(path, tier, description, rAttributes);
+
+            while (page != null) {
+                String next = page.next();
+                Future<JsonApiDecoder.Document> nextPage = next == null ? null : executor.submit(
+                    () -> client.fetchPage(next, tier, description, rAttributes)
+                );
+
+                try {
+                    for (Map<String, Object> row : page.data()) {
+                        consumer.accept(row);
+                    }
+                } catch (Exception e) {
+                    executor.shutdownNow();
+                    throw e;
+                }
+
+                page = nextPage == null ? null : await(nextPage);
+            }
+        }
+    }
+
+    private static void collect(Future<List<Map<String, Object>>> future, RowConsumer consumer) throws Exception {
+        for (Map<String, Object> row : await(future)) {
+            consumer.accept(row);
+        }
+    }
+
+    protected static <T> T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    protected Output applyFetchStrategy(FetchType rFetchType, List<Map<String, Object>> data, RunContext runContext) throws Exception {
+        return applyFetchStrategy(rFetchType, consumer -> {
+            for (Map<String, Object> row : data) {
+                consumer.accept(row);
+            }
+        }, runContext);
+    }
+
+    /**
+     * Applies the fetch strategy while the source produces rows: {@code STORE} appends each row to the ION file
+     * as soon as it is produced, so memory stays constant whatever the number of rows.
+     */
+    protected Output applyFetchStrategy(FetchType rFetchType, RowSource source, RunContext runContext) throws Exception {
+        return applyFetchStrategy(rFetchType, source, runContext, null);
+    }
+
+    /**
+     * @param errors errors collected while the source is consumed, read once it is exhausted; {@code null} when errors fail the task
+     */
+    protected Output applyFetchStrategy(FetchType rFetchType, RowSource source, RunContext runContext, Collection<Map<String, Object>> errors) throws Exception {
+        Output.OutputBuilder<?, ?> output = Output.builder();
+        AtomicLong size = new AtomicLong();
 
         switch (rFetchType) {
             case FETCH_ONE -> {
-                Map<String, Object> result = data.isEmpty() ? null : data.getFirst();
-                output.row(result);
+                List<Map<String, Object>> first = new ArrayList<>(1);
+                source.forEach(row -> {
+                    if (size.getAndIncrement() == 0) {
+                        first.add(row);
+                    }
+                });
+                output.row(first.isEmpty() ? null : first.getFirst());
             }
             case STORE -> {
                 File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
@@ -64,27 +384,160 @@ public abstract class AbstractKlaviyoTask extends Task {
                         new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE
                     )
                 ) {
-                    for (Map<String, Object> campaign : data) {
-                        FileSerde.write(fileOutputStream, campaign);
-                    }
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+                    source.forEach(row -> {
+                        FileSerde.write(fileOutputStream, row);
+                        size.incrementAndGet();
+                    });
                 }
                 output.uri(runContext.storage().putFile(tempFile));
             }
-            case FETCH -> output.rows(data);
-            case NONE -> {
+            case FETCH -> {
+                List<Map<String, Object>> rows = new ArrayList<>();
+                source.forEach(row -> {
+                    rows.add(row);
+                    size.incrementAndGet();
+                });
+                output.rows(rows);
+            }
+            case NONE -> source.forEach(row -> size.incrementAndGet());
+        }
+
+        if (errors != null) {
+            output.errors(List.copyOf(errors));
+            if (!errors.isEmpty()) {
+                runContext.logger().warn("{} ID(s) could not be retrieved", errors.size());
             }
         }
 
-        return output.build();
+        return output
+            .size(size.get())
+            .build();
+    }
+
+    /**
+     * Produces rows, in output order, to the consumer of a fetch strategy.
+     */
+    @FunctionalInterface
+    protected interface RowSource {
+        void forEach(RowConsumer consumer) throws Exception;
+    }
+
+    @FunctionalInterface
+    protected interface RowConsumer {
+        void accept(Map<String, Object> row) throws Exception;
     }
 
-    protected void induceDelay() {
-        await().pollDelay(Duration.ofSeconds(1)).until(() -> true);
+    /**
+     * Fetches the rows of one input of {@link #fetchInOrder}, in order.
+     */
+    @FunctionalInterface
+    protected interface Fetcher<T> {
+        List<Map<String, Object>> fetch(T input) throws Exception;
     }
 
-    @Builder
+    @FunctionalInterface
+    protected interface Progress {
+        void advance() throws Exception;
+    }
+
+    /**
+     * Streams the rows of one input of {@link #streamInOrder}, in order.
+     */
+    @FunctionalInterface
+    protected interface Streamer<T> {
+        void stream(T input, RowConsumer consumer) throws Exception;
+    }
+
+    /**
+     * Holds the rows of an input of {@link #streamInOrder} produced ahead of its turn.
+     */
+    protected interface RowBuffer {
+        void add(Map<String, Object> row) throws Exception;
+
+        /**
+         * Hands the buffered rows to the consumer, in order, and releases them.
+         */
+        void drain(RowConsumer consumer) throws Exception;
+
+        /**
+         * Releases the rows left when the input is abandoned before its turn.
+         */
+        void close() throws Exception;
+
+        static RowBuffer inMemory() {
+            List<Map<String, Object>> rows = new ArrayList<>();
+
+            return new RowBuffer() {
+                @Override
+                public void add(Map<String, Object> row) {
+                    rows.add(row);
+                }
+
+                @Override
+                public void drain(RowConsumer consumer) throws Exception {
+                    for (Map<String, Object> row : rows) {
+                        consumer.accept(row);
+                    }
+                    rows.clear();
+                }
+
+                @Override
+                public void close() {
+                    rows.clear();
+                }
+            };
+        }
+    }
+
+    /**
+     * An input of {@link #streamInOrder}: its rows are buffered until it becomes the head of the window, then passed
+     * straight through to the consumer.
+     */
+    private static final class Lane {
+        private final RowBuffer buffer;
+        private RowConsumer live;
+        private boolean closed;
+        private Future<Void> future;
+
+        private Lane(RowBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private synchronized void accept(Map<String, Object> row) throws Exception {
+            if (closed) {
+                return;
+            }
+
+            if (live != null) {
+                live.accept(row);
+            } else {
+                buffer.add(row);
+            }
+        }
+
+        private void drainTo(RowConsumer consumer) throws Exception {
+            synchronized (this) {
+                try {
+                    buffer.drain(consumer);
+                } catch (Exception e) {
+                    close();
+                    throw e;
+                }
+                live = consumer;
+            }
+            await(future);
+        }
+
+        /**
+         * Releases the buffer; the rows still produced afterward are dropped.
+         */
+        private synchronized void close() throws Exception {
+            closed = true;
+            buffer.close();
+        }
+    }
+
+    @SuperBuilder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(title = "Fetched row count")
@@ -98,5 +551,8 @@ public abstract class AbstractKlaviyoTask extends Task {
 
         @Schema(title = "URI of stored data")
         private final URI uri;
+
+        @Schema(title = "IDs that could not be retrieved", description = "Only set in `CONTINUE` error mode; each entry has the `id`, the HTTP `status` (empty for network errors) and the response `body`.")
+        private final List<Map<String, Object>> errors;
     }
 }
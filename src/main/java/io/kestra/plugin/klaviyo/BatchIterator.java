@@ -0,0 +1,138 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Packs records into serialized bulk request documents, each holding as many records as allowed by both a count
+ * and a byte limit. Records are serialized once and pulled lazily, so only the batch being built is held in memory.
+ * <p>
+ * A document is {@code prefix}, the serialized records separated by commas, then {@code suffix}: the prefix opens the
+ * JSON array of records and the suffix closes it along with the rest of the document. A record the serializer rejects
+ * with an {@link IllegalArgumentException}, or too large for any request, fails the iteration unless a
+ * {@link RejectHandler} is given, in which case it is skipped and the positions of the others are kept.
+ */
+public class BatchIterator implements Iterator<BatchIterator.Batch> {
+    private final Iterator<Map<String, Object>> records;
+    private final Serializer serializer;
+    private final RejectHandler rejectHandler;
+    private final byte[] prefix;
+    private final byte[] suffix;
+    private final int maxCount;
+    private final long maxBytes;
+
+    private byte[] pending;
+    private long pendingPosition;
+    private long read;
+
+    public BatchIterator(Iterator<Map<String, Object>> records, Serializer serializer, byte[] prefix, byte[] suffix, int maxCount, long maxBytes) {
+        this(records, serializer, null, prefix, suffix, maxCount, maxBytes);
+    }
+
+    /**
+     * @param rejectHandler receives the records the serializer rejects, which are left out of the batches, or
+     *     {@code null} to throw on the first one
+     */
+    public BatchIterator(Iterator<Map<String, Object>> records, Serializer serializer, RejectHandler rejectHandler, byte[] prefix, byte[] suffix, int maxCount, long maxBytes) {
+        this.records = records;
+        this.serializer = serializer;
+        this.rejectHandler = rejectHandler;
+        this.prefix = prefix;
+        this.suffix = suffix;
+        this.maxCount = maxCount;
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return fill();
+    }
+
+    @Override
+    public Batch next() {
+        if (!fill()) {
+            throw new NoSuchElementException();
+        }
+
+        try {
+            ByteArrayOutputStream document = new ByteArrayOutputStream();
+            document.write(prefix);
+            long size = prefix.length + suffix.length;
+            long first = pendingPosition;
+            int count = 0;
+
+            while (fill()) {
+                long recordSize = pending.length + (count > 0 ? 1 : 0);
+                if (count > 0 && (count >= maxCount || size + recordSize > maxBytes)) {
+                    break;
+                }
+
+                if (count > 0) {
+                    document.write(',');
+                }
+                document.write(pending);
+                size += recordSize;
+                count++;
+                pending = null;
+            }
+
+            document.write(suffix);
+            return new Batch(document.toByteArray(), first, count);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Serializes records until one is accepted, handing the rejected ones to the reject handler.
+     *
+     * @return whether a serialized record is pending
+     */
+    private boolean fill() {
+        while (pending == null && records.hasNext()) {
+            long position = read++;
+            try {
+                byte[] record = serializer.serialize(records.next());
+                if (prefix.length + suffix.length + record.length > maxBytes) {
+                    throw new IllegalArgumentException("A record of " + record.length + " bytes exceeds the " + maxBytes + " bytes limit of a request");
+                }
+                pending = record;
+                pendingPosition = position;
+            } catch (IllegalArgumentException e) {
+                if (rejectHandler == null) {
+                    throw e;
+                }
+                rejectHandler.reject(position, e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        return pending != null;
+    }
+
+    @FunctionalInterface
+    public interface Serializer {
+        byte[] serialize(Map<String, Object> record) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface RejectHandler {
+        /**
+         * @param position the position of the rejected record in the input, from 0
+         */
+        void reject(long position, IllegalArgumentException e);
+    }
+
+    /**
+     * @param document the serialized request document
+     * @param first the position of its first record in the input, from 0
+     * @param count the number of records it holds
+     */
+    public record Batch(byte[] document, long first, int count) {
+    }
+}
@@ -0,0 +1,200 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * Progress of a by-ID fetch, saved so that a retried or resubmitted task run resumes where the previous attempt stopped.
+ * <p>
+ * Inputs are consumed in order, so the progress is the number of inputs completed. Every {@code interval} inputs, the
+ * rows of those inputs are written as an ION chunk to internal storage and the chunk URIs, the completed count and
+ * the errors so far are saved in the namespace KV store under a key bound to the execution and task run. A new attempt
+ * replays the chunks and only fetches the remaining inputs; the state is ignored if the input list changed.
+ */
+class Checkpoint {
+    private static final Duration RETENTION = Duration.ofDays(7);
+
+    private final RunContext runContext;
+    private final KVStore kvStore;
+    private final String key;
+    private final String digest;
+    private final int interval;
+
+    private final List<String> chunks = new ArrayList<>();
+    private final Map<Integer, Map<String, Object>> errors = new LinkedHashMap<>();
+    private int completed;
+
+    private File chunkFile;
+    private OutputStream chunkOutput;
+    private int pending;
+
+    private Checkpoint(RunContext runContext, KVStore kvStore, String key, String digest, int interval) {
+        this.runContext = runContext;
+        this.kvStore = kvStore;
+        this.key = key;
+        this.digest = digest;
+        this.interval = interval;
+    }
+
+    /**
+     * Loads the progress saved by a previous attempt of the same task run, if any.
+     *
+     * @return the checkpoint, or {@code null} when the run context is not bound to an execution
+     */
+    @SuppressWarnings("unchecked")
+    static Checkpoint load(RunContext runContext, List<String> inputs, int interval) throws Exception {
+        Map<String, Object> variables = runContext.getVariables();
+        if (!(variables.get("execution") instanceof Map<?, ?> execution) || !(variables.get("taskrun") instanceof Map<?, ?> taskRun)) {
+            return null;
+        }
+
+        KVStore kvStore = runContext.namespaceKv(runContext.flowInfo().namespace());
+        String key = "klaviyo_checkpoint_" + execution.get("id") + "_" + taskRun.get("id");
+        Checkpoint checkpoint = new Checkpoint(runContext, kvStore, key, digest(inputs), interval);
+
+        Map<String, Object> state = kvStore.getValue(key)
+            .map(KVValue::value)
+            .filter(Map.class::isInstance)
+            .map(value -> (Map<String, Object>) value)
+            .filter(value -> checkpoint.digest.equals(value.get("digest")))
+            .orElse(null);
+
+        if (state != null) {
+            checkpoint.completed = ((Number) state.get("completed")).intValue();
+            checkpoint.chunks.addAll((List<String>) state.get("chunks"));
+            for (Map<String, Object> error : (List<Map<String, Object>>) state.get("errors")) {
+                Map<String, Object> entry = new LinkedHashMap<>(error);
+                checkpoint.errors.put(((Number) entry.remove("position")).intValue(), entry);
+            }
+            runContext.logger().info("Resuming from checkpoint: {} input(s) already completed", checkpoint.completed);
+        }
+
+        return checkpoint;
+    }
+
+    /**
+     * @return the number of inputs completed by previous attempts, which are not fetched again
+     */
+    int completed() {
+        return completed;
+    }
+
+    /**
+     * @return the errors of the inputs completed by previous attempts, keyed by input position
+     */
+    Map<Integer, Map<String, Object>> errors() {
+        return errors;
+    }
+
+    /**
+     * Hands the rows saved by previous attempts to the consumer, in input order.
+     */
+    @SuppressWarnings("unchecked")
+    void replay(AbstractKlaviyoTask.RowConsumer consumer) throws Exception {
+        for (String chunk : chunks) {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(URI.create(chunk))), FileSerde.BUFFER_SIZE)) {
+                for (Object row : FileSerde.readAll(reader).toIterable()) {
+                    consumer.accept((Map<String, Object>) row);
+                }
+            }
+        }
+    }
+
+    /**
+     * Records a row of the input being completed in the current chunk.
+     */
+    void write(Map<String, Object> row) throws Exception {
+        if (chunkOutput == null) {
+            chunkFile = runContext.workingDir().createTempFile(".ion").toFile();
+            chunkOutput = new BufferedOutputStream(new FileOutputStream(chunkFile), FileSerde.BUFFER_SIZE);
+        }
+        FileSerde.write(chunkOutput, row);
+    }
+
+    /**
+     * Marks the next {@code count} inputs as completed and saves the progress every {@code interval} inputs.
+     *
+     * @param currentErrors the errors of all the inputs completed so far, keyed by input position
+     */
+    void complete(int count, Map<Integer, Map<String, Object>> currentErrors) throws Exception {
+        completed += count;
+        pending += count;
+        if (pending >= interval) {
+            save(currentErrors);
+        }
+    }
+
+    /**
+     * Drops the saved progress once the fetch succeeded: the chunks in internal storage and the KV state.
+     */
+    void clear() throws Exception {
+        for (String chunk : chunks) {
+            runContext.storage().deleteFile(URI.create(chunk));
+        }
+        chunks.clear();
+        kvStore.delete(key);
+    }
+
+    /**
+     * Discards the rows written since the last save, which a new attempt fetches again; called whether the fetch
+     * succeeded or not.
+     */
+    void close() throws IOException {
+        if (chunkOutput != null) {
+            chunkOutput.close();
+            chunkOutput = null;
+            Files.deleteIfExists(chunkFile.toPath());
+        }
+    }
+
+    private void save(Map<Integer, Map<String, Object>> currentErrors) throws Exception {
+        if (chunkOutput != null) {
+            chunkOutput.close();
+            chunks.add(runContext.storage().putFile(chunkFile).toString());
+            chunkOutput = null;
+        }
+        pending = 0;
+
+        List<Map<String, Object>> savedErrors = new ArrayList<>();
+        currentErrors.forEach((position, error) -> {
+            if (position < completed) {
+                Map<String, Object> entry = new LinkedHashMap<>(error);
+                entry.put("position", position);
+                savedErrors.add(entry);
+            }
+        });
+
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("digest", digest);
+        state.put("completed", completed);
+        state.put("chunks", List.copyOf(chunks));
+        state.put("errors", savedErrors);
+
+        kvStore.put(key, new KVValueAndMetadata(new KVMetadata("Klaviyo fetch checkpoint", RETENTION), state));
+    }
+
+    private static String digest(List<String> inputs) throws Exception {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        for (String input : inputs) {
+            digest.update(input.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
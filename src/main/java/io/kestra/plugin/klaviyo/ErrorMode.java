@@ -0,0 +1,16 @@
+package io.kestra.plugin.klaviyo;
+
+/**
+ * How a task fetching resources by ID reacts to an ID that cannot be retrieved once retries are exhausted.
+ */
+public enum ErrorMode {
+    /**
+     * Fail the task on the first error, discarding the rows already fetched.
+     */
+    FAIL_FAST,
+
+    /**
+     * Keep fetching the other IDs and report each failed one in the {@code errors} output.
+     */
+    CONTINUE
+}
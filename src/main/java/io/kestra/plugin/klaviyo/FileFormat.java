@@ -0,0 +1,17 @@
+package io.kestra.plugin.klaviyo;
+
+/**
+ * Format of an input file read from internal storage.
+ */
+public enum FileFormat {
+    /**
+     * Amazon ION, one record per value, as written by Kestra tasks.
+     */
+    ION,
+
+    /**
+     * UTF-8 comma-separated values with a header row; dotted column names such as {@code location.city} become nested
+     * objects, so no other column may be named {@code location}.
+     */
+    CSV
+}
@@ -0,0 +1,203 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Decodes JSON:API documents with Jackson's streaming parser, straight from the response body into rows,
+ * without building an intermediate tree. Attributes outside the optional projection are skipped while parsing,
+ * and sideloaded {@code included} resources are merged into the rows that reference them.
+ */
+public final class JsonApiDecoder {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private JsonApiDecoder() {
+    }
+
+    /**
+     * @param attributes attribute names to keep, or {@code null} to keep them all
+     */
+    public static Document decode(InputStream inputStream, Set<String> attributes) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(inputStream)) {
+            return decode(parser, attributes);
+        }
+    }
+
+    public static Document decode(byte[] content, Set<String> attributes) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(content)) {
+            return decode(parser, attributes);
+        }
+    }
+
+    private static Document decode(JsonParser parser, Set<String> attributes) throws IOException {
+        List<Map<String, Object>> data = new ArrayList<>();
+        List<Map<String, Object>> included = List.of();
+        String next = null;
+
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON:API document, got " + parser.currentToken());
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            switch (field) {
+                case "data" -> {
+                    if (token == JsonToken.START_OBJECT) {
+                        data.add(readResource(parser, attributes));
+                    } else if (token == JsonToken.START_ARRAY) {
+                        while (parser.nextToken() == JsonToken.START_OBJECT) {
+                            data.add(readResource(parser, attributes));
+                        }
+                    }
+                }
+                case "included" -> included = readIncluded(parser);
+                case "links" -> next = readNextLink(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        if (!included.isEmpty()) {
+            mergeIncluded(data, included);
+        }
+
+        return new Document(data, next);
+    }
+
+    private static List<Map<String, Object>> readIncluded(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return List.of();
+        }
+
+        List<Map<String, Object>> included = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            included.add(readResource(parser, null));
+        }
+
+        return included;
+    }
+
+    /**
+     * Adds an {@code included} entry to each row, mapping each relationship name to its resolved resource,
+     * or list of resources for to-many relationships.
+     */
+    private static void mergeIncluded(List<Map<String, Object>> data, List<Map<String, Object>> included) {
+        Map<String, Map<String, Object>> index = new HashMap<>();
+        for (Map<String, Object> resource : included) {
+            index.put(resource.get("type") + ":" + resource.get("id"), resource);
+        }
+
+        for (Map<String, Object> row : data) {
+            if (!(row.get("relationships") instanceof Map<?, ?> relationships)) {
+                continue;
+            }
+
+            Map<String, Object> resolved = new LinkedHashMap<>();
+            relationships.forEach((name, relationship) -> {
+                if (!(relationship instanceof Map<?, ?> linkage)) {
+                    return;
+                }
+
+                if (linkage.get("data") instanceof Map<?, ?> identifier) {
+                    Map<String, Object> resource = index.get(identifier.get("type") + ":" + identifier.get("id"));
+                    if (resource != null) {
+                        resolved.put(String.valueOf(name), resource);
+                    }
+                } else if (linkage.get("data") instanceof List<?> identifiers) {
+                    List<Map<String, Object>> resources = identifiers.stream()
+                        .filter(Map.class::isInstance)
+                        .map(identifier -> index.get(((Map<?, ?>) identifier).get("type") + ":" + ((Map<?, ?>) identifier).get("id")))
+                        .filter(Objects::nonNull)
+                        .toList();
+                    if (!resources.isEmpty()) {
+                        resolved.put(String.valueOf(name), resources);
+                    }
+                }
+            });
+
+            if (!resolved.isEmpty()) {
+                row.put("included", resolved);
+            }
+        }
+    }
+
+    private static Map<String, Object> readResource(JsonParser parser, Set<String> attributes) throws IOException {
+        if (attributes == null) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> resource = MAPPER.readValue(parser, Map.class);
+            return resource;
+        }
+
+        Map<String, Object> resource = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            if (field.equals("attributes") && token == JsonToken.START_OBJECT) {
+                resource.put(field, readAttributes(parser, attributes));
+            } else {
+                resource.put(field, MAPPER.readValue(parser, Object.class));
+            }
+        }
+
+        return resource;
+    }
+
+    private static Map<String, Object> readAttributes(JsonParser parser, Set<String> attributes) throws IOException {
+        Map<String, Object> values = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+
+            if (attributes.contains(name)) {
+                values.put(name, MAPPER.readValue(parser, Object.class));
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return values;
+    }
+
+    private static String readNextLink(JsonParser parser) throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return null;
+        }
+
+        String next = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+
+            if (name.equals("next") && parser.currentToken() == JsonToken.VALUE_STRING) {
+                next = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return next;
+    }
+
+    /**
+     * The primary resources of a response, a single resource being returned as a one-element list, and the next page link if any.
+     */
+    public record Document(List<Map<String, Object>> data, String next) {
+    }
+}
@@ -0,0 +1,25 @@
+package io.kestra.plugin.klaviyo;
+
+import lombok.Getter;
+
+/**
+ * A Klaviyo response with an unexpected status, carrying the status and the raw error body.
+ */
+@Getter
+public class KlaviyoApiException extends RuntimeException {
+    private final int status;
+    private final String body;
+
+    public KlaviyoApiException(String description, int status, String body) {
+        this("retrieve", description, status, body);
+    }
+
+    /**
+     * @param action what the request tried to do, e.g. {@code submit}
+     */
+    public KlaviyoApiException(String action, String description, int status, String body) {
+        super("Failed to " + action + " " + description + ": " + status + " - " + body);
+        this.status = status;
+        this.body = body;
+    }
+}
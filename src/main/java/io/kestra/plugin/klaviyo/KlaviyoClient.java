@@ -0,0 +1,362 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpHeaders;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.kestra.core.http.HttpRequest;
+import io.kestra.core.http.client.HttpClient;
+
+import lombok.Getter;
+
+/**
+ * Request path shared by every Klaviyo task: one HTTP client, one immutable header set, one rate limiter per tier
+ * and one set of {@link RequestMetrics}, reused by all the requests and threads of a task run.
+ * <p>
+ * The client is scoped to a run rather than pooled across runs: Kestra's {@link HttpClient} is bound to the
+ * {@code RunContext} it was built with (logs, metrics, rendered configuration), so sharing it would leak them into
+ * other executions. Connections are kept alive for the whole run.
+ */
+public class KlaviyoClient implements AutoCloseable {
+    public static final String JSON_API = "application/vnd.api+json";
+
+    private final HttpClient httpClient;
+    private final Map<String, String> headers;
+    private final RetryPolicy retryPolicy;
+    private final String sparseQuery;
+    private final RequestMetrics metrics;
+    private final String basePath;
+    private final Map<RateLimitTier, RateLimiter> rateLimiters = new ConcurrentHashMap<>();
+
+    @Getter
+    private final String baseUrl;
+
+    /**
+     * @param sparseQuery encoded {@code fields[...]} and {@code include} parameters added to every GET request, or {@code null}
+     * @param metrics request metrics, reported when the client is closed
+     */
+    public KlaviyoClient(HttpClient httpClient, String baseUrl, String apiKey, String apiVersion, RetryPolicy retryPolicy, String sparseQuery, RequestMetrics metrics) {
+        this.httpClient = httpClient;
+        this.baseUrl = baseUrl;
+        this.basePath = URI.create(baseUrl).getPath();
+        this.retryPolicy = retryPolicy;
+        this.sparseQuery = sparseQuery;
+        this.metrics = metrics;
+        this.headers = Map.of(
+            "Accept", JSON_API,
+            "Authorization", "Klaviyo-API-Key " + apiKey,
+            "revision", apiVersion
+        );
+    }
+
+    public RateLimiter rateLimiter(RateLimitTier tier) {
+        return rateLimiters.computeIfAbsent(tier, RateLimiter::new);
+    }
+
+    /**
+     * Starts a request carrying the Klaviyo headers; {@code pathOrUrl} is either relative to the base URL
+     * or an absolute URL such as a pagination link.
+     */
+    public HttpRequest.HttpRequestBuilder request(String method, String pathOrUrl) {
+        HttpRequest.HttpRequestBuilder builder = HttpRequest.builder()
+            .uri(URI.create(pathOrUrl.startsWith("http") ? pathOrUrl : baseUrl + pathOrUrl))
+            .method(method);
+
+        headers.forEach(builder::addHeader);
+
+        return builder;
+    }
+
+    /**
+     * Sends a request paced by the tier rate limiter; only this request is retried on 429, 5xx or IO errors.
+     * A successful body is handed to the reader while it is streamed from the connection; any other body is kept as the error.
+     */
+    public <T> Response<T> execute(HttpRequest request, RateLimitTier tier, String description, BodyReader<T> bodyReader) throws Exception {
+        return execute(request, tier, description, true, bodyReader);
+    }
+
+    /**
+     * Same as {@link #execute(HttpRequest, RateLimitTier, String, BodyReader)}, for a request that may not be safe to
+     * repeat: when {@code idempotent} is {@code false}, as for the submission of a job, the request is only retried
+     * when Klaviyo certainly did not process it, that is on a 429 or when the connection could not be established.
+     * A 5xx or an IO error once the request was sent, such as a read timeout, fails it at once since Klaviyo may
+     * already have accepted it.
+     */
+    public <T> Response<T> execute(HttpRequest request, RateLimitTier tier, String description, boolean idempotent, BodyReader<T> bodyReader) throws Exception {
+        RateLimiter rateLimiter = rateLimiter(tier);
+        String endpoint = endpoint(request);
+
+        for (int attempt = 1; ; attempt++) {
+            metrics.throttled(tier, rateLimiter.acquire());
+
+            Response<T> response;
+            try {
+                response = send(request, endpoint, bodyReader);
+            } catch (Exception e) {
+                boolean retryable = idempotent ? RetryPolicy.isTransient(e) : RetryPolicy.isUnsent(e);
+                if (retryable && retryPolicy.backoff(attempt, description, e.getMessage())) {
+                    metrics.retry(endpoint);
+                    continue;
+                }
+                throw e;
+            }
+
+            rateLimiter.observe(response.status(), response.headers());
+
+            boolean retryable = idempotent ? RetryPolicy.isRetryable(response.status()) : response.status() == 429;
+            if (!retryable || !retryPolicy.backoff(attempt, description, "HTTP " + response.status())) {
+                return response;
+            }
+            metrics.retry(endpoint);
+        }
+    }
+
+    public Response<String> execute(HttpRequest request, RateLimitTier tier, String description) throws Exception {
+        return execute(request, tier, description, inputStream -> new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Fetches a single resource and returns its JSON:API {@code data} object, or {@code null} when the response has none.
+     *
+     * @param attributes attribute names to keep, or {@code null} to keep them all
+     */
+    public Map<String, Object> fetchData(String path, RateLimitTier tier, String description, Set<String> attributes) throws Exception {
+        Response<JsonApiDecoder.Document> response = execute(
+            request("GET", withSparseQuery(path)).build(),
+            tier,
+            description,
+            inputStream -> JsonApiDecoder.decode(inputStream, attributes)
+        );
+
+        if (response.status() != 200) {
+            throw new KlaviyoApiException(description, response.status(), response.error());
+        }
+
+        List<Map<String, Object>> data = response.body().data();
+        return data.isEmpty() ? null : data.getFirst();
+    }
+
+    /**
+     * Same as {@link #fetchData(String, RateLimitTier, String, Set)}, but answers from the cache while the entry is
+     * fresh and revalidates a stale entry with {@code If-None-Match} when it has an {@code ETag}.
+     */
+    public Map<String, Object> fetchData(String path, RateLimitTier tier, String description, Set<String> attributes, ResponseCache cache) throws Exception {
+        if (cache == null) {
+            return fetchData(path, tier, description, attributes);
+        }
+
+        String url = withSparseQuery(path);
+        ResponseCache.Entry entry = cache.get(url, attributes);
+        if (entry != null && entry.isFresh()) {
+            cache.hit();
+            return entry.data();
+        }
+
+        HttpRequest.HttpRequestBuilder request = request("GET", url);
+        if (entry != null && entry.etag() != null) {
+            request.addHeader("If-None-Match", entry.etag());
+        }
+
+        Response<JsonApiDecoder.Document> response = execute(
+            request.build(),
+            tier,
+            description,
+            inputStream -> JsonApiDecoder.decode(inputStream, attributes)
+        );
+
+        if (response.status() == 304 && entry != null) {
+            cache.renew(entry);
+            return entry.data();
+        }
+
+        if (response.status() != 200) {
+            throw new KlaviyoApiException(description, response.status(), response.error());
+        }
+
+        cache.miss();
+
+        List<Map<String, Object>> data = response.body().data();
+        if (data.isEmpty()) {
+            return null;
+        }
+
+        cache.put(url, attributes, data.getFirst(), response.headers().firstValue("ETag").orElse(null));
+        return data.getFirst();
+    }
+
+    /**
+     * Submits a JSON:API document, already serialized, that creates a resource such as a bulk job, and returns the
+     * {@code data} object of the response, or {@code null} when it has none. Unlike a query, the submission is not
+     * idempotent: it is retried on 429 or connection failures only, so that a job is never created twice.
+     */
+    public Map<String, Object> submit(String path, RateLimitTier tier, String description, byte[] document) throws Exception {
+        JsonApiDecoder.Document response = postPage(path, tier, description, document, false);
+
+        List<Map<String, Object>> data = response == null ? List.of() : response.data();
+        return data.isEmpty() ? null : data.getFirst();
+    }
+
+    /**
+     * Posts a JSON:API query document, already serialized, and returns the response document, or {@code null} when the
+     * response has no body. The document carries the link to the next page of a paginated query, if any; like every
+     * GET request, the query is retried on 429, 5xx or IO errors.
+     */
+    public JsonApiDecoder.Document postPage(String pathOrUrl, RateLimitTier tier, String description, byte[] document) throws Exception {
+        return postPage(pathOrUrl, tier, description, document, true);
+    }
+
+    private JsonApiDecoder.Document postPage(String pathOrUrl, RateLimitTier tier, String description, byte[] document, boolean idempotent) throws Exception {
+        HttpRequest request = request("POST", pathOrUrl)
+            .body(HttpRequest.ByteArrayRequestBody.builder()
+                .contentType(JSON_API)
+                .content(document)
+                .build()
+            )
+            .build();
+
+        Response<JsonApiDecoder.Document> response = execute(request, tier, description, idempotent, inputStream -> {
+            byte[] content = inputStream.readAllBytes();
+            return content.length == 0 ? null : JsonApiDecoder.decode(content, null);
+        });
+
+        if (response.status() < 200 || response.status() >= 300) {
+            throw new KlaviyoApiException("submit", description, response.status(), response.error());
+        }
+
+        return response.body();
+    }
+
+    /**
+     * Fetches one page of a collection; the returned document carries the link to the next page, if any.
+     *
+     * @param attributes attribute names to keep, or {@code null} to keep them all
+     */
+    public JsonApiDecoder.Document fetchPage(String pathOrUrl, RateLimitTier tier, String description, Set<String> attributes) throws Exception {
+        Response<JsonApiDecoder.Document> response = execute(
+            request("GET", withSparseQuery(pathOrUrl)).build(),
+            tier,
+            description,
+            inputStream -> JsonApiDecoder.decode(inputStream, attributes)
+        );
+
+        if (response.status() != 200) {
+            throw new KlaviyoApiException(description, response.status(), response.error());
+        }
+
+        return response.body();
+    }
+
+    /**
+     * Adds the sparse fieldsets and includes to a GET path; pagination links already carry them and are left untouched.
+     */
+    private String withSparseQuery(String pathOrUrl) {
+        if (sparseQuery == null || pathOrUrl.contains("include=") || pathOrUrl.contains("fields%5B") || pathOrUrl.contains("fields[")) {
+            return pathOrUrl;
+        }
+
+        return pathOrUrl + (pathOrUrl.contains("?") ? "&" : "?") + sparseQuery;
+    }
+
+    /**
+     * Encodes a query parameter, such as a JSON:API {@code filter} expression, for use in a request path.
+     */
+    public static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the path template of a request relative to the base URL, used to tag metrics
+     */
+    private String endpoint(HttpRequest request) {
+        String path = request.getUri().getPath();
+        return RequestMetrics.endpoint(path.startsWith(basePath) ? path.substring(basePath.length()) : path);
+    }
+
+    private <T> Response<T> send(HttpRequest request, String endpoint, BodyReader<T> bodyReader) throws Exception {
+        AtomicReference<Response<T>> result = new AtomicReference<>();
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        long started = System.nanoTime();
+
+        httpClient.request(request, response -> {
+            int status = response.getStatus().getCode();
+
+            try (CountingInputStream body = response.getBody() == null ? null : new CountingInputStream(response.getBody())) {
+                if (status >= 200 && status < 300) {
+                    result.set(new Response<>(status, response.getHeaders(), body == null ? null : bodyReader.read(body), null));
+                } else {
+                    String error = body == null ? null : new String(body.readAllBytes(), StandardCharsets.UTF_8);
+                    result.set(new Response<>(status, response.getHeaders(), null, error));
+                }
+                metrics.response(endpoint, status, Duration.ofNanos(System.nanoTime() - started), body == null ? 0L : body.count());
+            } catch (Exception e) {
+                failure.set(e);
+            }
+        });
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        return result.get();
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int read = super.read();
+            if (read >= 0) {
+                count++;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+
+        long count() {
+            return count;
+        }
+    }
+
+    @FunctionalInterface
+    public interface BodyReader<T> {
+        T read(InputStream inputStream) throws Exception;
+    }
+
+    /**
+     * A response status and headers, with the decoded body on success or the raw body as error otherwise.
+     */
+    public record Response<T>(int status, HttpHeaders headers, T body, String error) {
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            httpClient.close();
+        } finally {
+            metrics.report();
+        }
+    }
+}
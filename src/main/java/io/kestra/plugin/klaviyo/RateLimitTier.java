@@ -0,0 +1,24 @@
+package io.kestra.plugin.klaviyo;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Klaviyo rate limit tiers, as documented per endpoint: a burst quota per second and a steady quota per minute.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum RateLimitTier {
+    XS(1, 15),
+    S(3, 60),
+    M(10, 150),
+    L(75, 700),
+    XL(350, 3500),
+    /**
+     * Reporting endpoints, such as campaign and flow values reports, far slower than the standard tiers.
+     */
+    REPORTING(1, 2);
+
+    private final int burstPerSecond;
+    private final int steadyPerMinute;
+}
@@ -0,0 +1,190 @@
+package io.kestra.plugin.klaviyo;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token-bucket limiter enforcing both the burst and the steady quota of a {@link RateLimitTier}.
+ * One instance is shared by all the threads of a task run hitting the same endpoint.
+ * <p>
+ * The buckets are corrected with the {@code RateLimit-*} and {@code Retry-After} headers returned by Klaviyo,
+ * so the limiter slows down or pauses when the server reports less capacity than expected.
+ */
+public class RateLimiter {
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final LongSupplier clock;
+    private final Sleeper sleeper;
+    private final Bucket burst;
+    private final Bucket steady;
+    private long pausedUntil;
+
+    public RateLimiter(RateLimitTier tier) {
+        this(tier, System::nanoTime, TimeUnit.NANOSECONDS::sleep);
+    }
+
+    /**
+     * @param clock source of {@link System#nanoTime()}-like timestamps
+     * @param sleeper waits for the given number of nanoseconds
+     */
+    RateLimiter(RateLimitTier tier, LongSupplier clock, Sleeper sleeper) {
+        this.clock = clock;
+        this.sleeper = sleeper;
+        long now = clock.getAsLong();
+        this.burst = new Bucket(tier.getBurstPerSecond(), Duration.ofSeconds(1), now);
+        this.steady = new Bucket(tier.getSteadyPerMinute(), Duration.ofMinutes(1), now);
+        this.pausedUntil = now;
+    }
+
+    /**
+     * Blocks until a request can be sent without exceeding the quotas.
+     *
+     * @return the time spent waiting
+     */
+    public Duration acquire() throws InterruptedException {
+        long waited = 0L;
+
+        while (true) {
+            long wait;
+            synchronized (this) {
+                long now = clock.getAsLong();
+                burst.refill(now);
+                steady.refill(now);
+
+                if (now - pausedUntil >= 0 && burst.tokens >= 1 && steady.tokens >= 1) {
+                    burst.tokens--;
+                    steady.tokens--;
+                    return Duration.ofNanos(waited);
+                }
+
+                wait = Math.max(pausedUntil - now, Math.max(burst.nanosUntilToken(), steady.nanosUntilToken()));
+            }
+
+            sleeper.sleep(wait);
+            waited += wait;
+        }
+    }
+
+    /**
+     * Updates the capacity estimate from the rate limit headers of a response.
+     * A {@code 429} pauses every thread for the {@code Retry-After} delay; otherwise a low
+     * {@code RateLimit-Remaining} caps the available tokens of the burst bucket, or of the steady one when
+     * {@code RateLimit-Limit} gives it a window of a minute or more, and an exhausted quota pauses until {@code RateLimit-Reset}.
+     */
+    public synchronized void observe(int status, HttpHeaders headers) {
+        long now = clock.getAsLong();
+
+        if (status == 429) {
+            Duration retryAfter = seconds(headers, "Retry-After")
+                .or(() -> seconds(headers, "RateLimit-Reset"))
+                .orElse(DEFAULT_RETRY_AFTER);
+            pauseUntil(now + retryAfter.toNanos());
+            return;
+        }
+
+        Optional<Long> remaining = number(headers, "RateLimit-Remaining");
+        if (remaining.isEmpty()) {
+            return;
+        }
+
+        // the remaining quota is the burst one, unless the limit names the steady window
+        Bucket bucket = window(headers).filter(window -> window.compareTo(Duration.ofMinutes(1)) >= 0).isPresent() ? steady : burst;
+        bucket.refill(now);
+        bucket.tokens = Math.min(bucket.tokens, remaining.get());
+
+        if (remaining.get() <= 0) {
+            seconds(headers, "RateLimit-Reset").ifPresent(reset -> pauseUntil(now + reset.toNanos()));
+        }
+    }
+
+    private void pauseUntil(long until) {
+        if (until - pausedUntil > 0) {
+            pausedUntil = until;
+        }
+    }
+
+    /**
+     * @return the window of the quota {@code RateLimit-Remaining} refers to, when {@code RateLimit-Limit} lists its
+     *     policies as in {@code 150, 10;w=1, 150;w=60}: the window of the policy matching the leading quota
+     */
+    private static Optional<Duration> window(HttpHeaders headers) {
+        Optional<Long> limit = number(headers, "RateLimit-Limit");
+        if (limit.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String[] policies = headers.firstValue("RateLimit-Limit").orElseThrow().split(",");
+        for (int i = 1; i < policies.length; i++) {
+            String[] parts = policies[i].split(";");
+            if (!parts[0].trim().equals(String.valueOf(limit.get()))) {
+                continue;
+            }
+            for (int p = 1; p < parts.length; p++) {
+                String parameter = parts[p].trim();
+                if (parameter.startsWith("w=")) {
+                    try {
+                        return Optional.of(Duration.ofSeconds(Long.parseLong(parameter.substring(2).trim())));
+                    } catch (NumberFormatException e) {
+                        return Optional.empty();
+                    }
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static Optional<Duration> seconds(HttpHeaders headers, String name) {
+        return number(headers, name).map(Duration::ofSeconds);
+    }
+
+    /**
+     * Reads the first integer of a header; structured values such as {@code 150, 10;w=1, 150;w=60} keep their leading number.
+     */
+    private static Optional<Long> number(HttpHeaders headers, String name) {
+        if (headers == null) {
+            return Optional.empty();
+        }
+
+        return headers.firstValue(name)
+            .map(value -> value.split("[,;]", 2)[0].trim())
+            .flatMap(value -> {
+                try {
+                    return Optional.of(Math.max(0L, Long.parseLong(value)));
+                } catch (NumberFormatException e) {
+                    return Optional.empty();
+                }
+            });
+    }
+
+    private static class Bucket {
+        private final double capacity;
+        private final double tokensPerNano;
+        private double tokens;
+        private long lastRefill;
+
+        private Bucket(int capacity, Duration period, long now) {
+            this.capacity = capacity;
+            this.tokensPerNano = capacity / (double) period.toNanos();
+            this.tokens = capacity;
+            this.lastRefill = now;
+        }
+
+        private void refill(long now) {
+            tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+            lastRefill = now;
+        }
+
+        private long nanosUntilToken() {
+            return tokens >= 1 ? 0L : (long) Math.ceil((1 - tokens) / tokensPerNano);
+        }
+    }
+
+    @FunctionalInterface
+    interface Sleeper {
+        void sleep(long nanos) throws InterruptedException;
+    }
+}
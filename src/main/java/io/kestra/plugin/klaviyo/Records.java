@@ -0,0 +1,194 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.*;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+/**
+ * Streams the records of an ION or CSV file from internal storage, one at a time, so large inputs are never held in memory.
+ */
+public final class Records {
+    private Records() {
+    }
+
+    /**
+     * @return the records of the file, which must be closed to release the file
+     */
+    @SuppressWarnings("unchecked")
+    public static Stream<Map<String, Object>> read(RunContext runContext, URI uri, FileFormat format) throws IOException {
+        BufferedReader reader = new BufferedReader(
+            new InputStreamReader(runContext.storage().getFile(uri), StandardCharsets.UTF_8),
+            FileSerde.BUFFER_SIZE
+        );
+
+        try {
+            Stream<Map<String, Object>> records = switch (format) {
+                case ION -> FileSerde.readAll(reader)
+                    .map(record -> (Map<String, Object>) record)
+                    .toStream();
+                case CSV -> StreamSupport.stream(Spliterators.spliteratorUnknownSize(new CsvIterator(reader), Spliterator.ORDERED), false);
+            };
+
+            return records.onClose(() -> {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            reader.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads RFC 4180 CSV: quoted fields may hold separators, line breaks and doubled quotes. Empty fields are omitted.
+     * A leading UTF-8 byte order mark, as written by spreadsheet exports, is ignored.
+     */
+    private static class CsvIterator implements Iterator<Map<String, Object>> {
+        private static final String BOM = "\uFEFF";
+
+        private final Reader reader;
+        private final List<String> header;
+        private List<String> next;
+
+        CsvIterator(Reader reader) throws IOException {
+            this.reader = reader;
+            this.header = readRow();
+            if (this.header == null) {
+                throw new IOException("CSV file has no header row");
+            }
+            if (this.header.getFirst().startsWith(BOM)) {
+                this.header.set(0, this.header.getFirst().substring(BOM.length()));
+            }
+            checkColumns(this.header);
+            this.next = readRow();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+
+            Map<String, Object> record = new LinkedHashMap<>();
+            for (int i = 0; i < Math.min(header.size(), next.size()); i++) {
+                if (!next.get(i).isEmpty()) {
+                    put(record, header.get(i), next.get(i));
+                }
+            }
+
+            try {
+                next = readRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return record;
+        }
+
+        /**
+         * Rejects a column whose name is also the parent of a dotted column, such as {@code profile} and
+         * {@code profile.email}, since the field cannot be both a value and an object.
+         */
+        private static void checkColumns(List<String> header) {
+            Set<String> columns = new HashSet<>();
+            header.forEach(column -> columns.add(column.trim()));
+
+            for (String column : header) {
+                String name = column.trim();
+                for (int dot = name.indexOf('.'); dot >= 0; dot = name.indexOf('.', dot + 1)) {
+                    String parent = name.substring(0, dot);
+                    if (columns.contains(parent)) {
+                        throw new IllegalArgumentException("CSV columns `" + parent + "` and `" + name + "` conflict: `" + parent + "` cannot be both a value and the parent of nested fields");
+                    }
+                }
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static void put(Map<String, Object> record, String column, String value) {
+            String[] path = column.trim().split("\\.");
+            Map<String, Object> target = record;
+            for (int i = 0; i < path.length - 1; i++) {
+                target = (Map<String, Object>) target.computeIfAbsent(path[i], key -> new LinkedHashMap<String, Object>());
+            }
+            target.put(path[path.length - 1], value);
+        }
+
+        /**
+         * @return the fields of the next non-blank row, or {@code null} at the end of the file
+         */
+        private List<String> readRow() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r') {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    if (fields.isEmpty() && field.isEmpty()) {
+                        any = false;
+                        continue;
+                    }
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+            }
+
+            if (!any) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.kestra.plugin.klaviyo;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Aggregates what the requests of a task run cost, and reports it as task metrics when the client is closed rather
+ * than one metric per request. Endpoints are tagged by their path template, e.g. {@code /campaigns/{id}}.
+ * <ul>
+ *     <li>{@code requests}: responses per endpoint and HTTP status, retried attempts included</li>
+ *     <li>{@code request.duration}: time spent in requests per endpoint</li>
+ *     <li>{@code request.latency}: latency histogram per endpoint, one count per bucket tagged with its upper bound ({@code le})</li>
+ *     <li>{@code bytes.received}: response body bytes per endpoint</li>
+ *     <li>{@code retries}: attempts retried per endpoint</li>
+ *     <li>{@code throttle.wait}: time spent waiting on the rate limiter per tier</li>
+ * </ul>
+ */
+public class RequestMetrics {
+    private static final List<Duration> LATENCY_BOUNDS = List.of(
+        Duration.ofMillis(100),
+        Duration.ofMillis(250),
+        Duration.ofMillis(500),
+        Duration.ofSeconds(1),
+        Duration.ofMillis(2500),
+        Duration.ofSeconds(5)
+    );
+
+    private final RunContext runContext;
+
+    private final Map<List<String>, LongAdder> requests = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> durations = new ConcurrentHashMap<>();
+    private final Map<List<String>, LongAdder> latencies = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> bytes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> retries = new ConcurrentHashMap<>();
+    private final Map<RateLimitTier, LongAdder> throttleWaits = new ConcurrentHashMap<>();
+
+    public RequestMetrics(RunContext runContext) {
+        this.runContext = runContext;
+    }
+
+    public void response(String endpoint, int status, Duration duration, long bodyBytes) {
+        add(requests, List.of(endpoint, String.valueOf(status)), 1);
+        add(durations, endpoint, duration.toNanos());
+        add(latencies, List.of(endpoint, bucket(duration)), 1);
+        add(bytes, endpoint, bodyBytes);
+    }
+
+    public void retry(String endpoint) {
+        add(retries, endpoint, 1);
+    }
+
+    public void throttled(RateLimitTier tier, Duration waited) {
+        if (!waited.isZero()) {
+            add(throttleWaits, tier, waited.toNanos());
+        }
+    }
+
+    public void report() {
+        requests.forEach((tags, count) -> runContext.metric(Counter.of("requests", count.sum(), "endpoint", tags.get(0), "status", tags.get(1))));
+        durations.forEach((endpoint, nanos) -> runContext.metric(Timer.of("request.duration", Duration.ofNanos(nanos.sum()), "endpoint", endpoint)));
+        latencies.forEach((tags, count) -> runContext.metric(Counter.of("request.latency", count.sum(), "endpoint", tags.get(0), "le", tags.get(1))));
+        bytes.forEach((endpoint, count) -> runContext.metric(Counter.of("bytes.received", count.sum(), "endpoint", endpoint)));
+        retries.forEach((endpoint, count) -> runContext.metric(Counter.of("retries", count.sum(), "endpoint", endpoint)));
+        throttleWaits.forEach((tier, nanos) -> runContext.metric(Timer.of("throttle.wait", Duration.ofNanos(nanos.sum()), "tier", tier.name())));
+    }
+
+    /**
+     * @return the path template of a request path, IDs being the segments that are not lowercase resource names
+     */
+    public static String endpoint(String path) {
+        StringBuilder endpoint = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                endpoint.append('/').append(segment.matches("[a-z-]+") ? segment : "{id}");
+            }
+        }
+        return endpoint.isEmpty() ? "/" : endpoint.toString();
+    }
+
+    private static String bucket(Duration duration) {
+        return LATENCY_BOUNDS.stream()
+            .filter(bound -> duration.compareTo(bound) <= 0)
+            .findFirst()
+            .map(Duration::toString)
+            .orElse("+Inf");
+    }
+
+    private static <K> void add(Map<K, LongAdder> adders, K key, long value) {
+        adders.computeIfAbsent(key, k -> new LongAdder()).add(value);
+    }
+}
@@ -0,0 +1,132 @@
+package io.kestra.plugin.klaviyo;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * Caches single-resource responses in the namespace KV store, so repeated lookups across runs skip the network.
+ * <p>
+ * An entry is fresh for the TTL of its JSON:API type. Once stale, an entry that came with an {@code ETag} is kept for
+ * {@link #REVALIDATION_WINDOW} more and revalidated with {@code If-None-Match}, a {@code 304} renewing it without a body.
+ * Keys are digests of the API key, base URL, API revision, request URL and attribute projection, so accounts and
+ * projections never share entries.
+ */
+public class ResponseCache {
+    private static final Duration REVALIDATION_WINDOW = Duration.ofDays(1);
+
+    private final KVStore kvStore;
+    private final String scope;
+    private final Duration ttl;
+    private final Map<String, Duration> ttls;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong revalidations = new AtomicLong();
+
+    /**
+     * @param scope identifies the account and API revision the responses belong to
+     * @param ttl freshness of the types missing from {@code ttls}
+     * @param ttls freshness per JSON:API resource type, e.g. {@code campaign-message}
+     */
+    public ResponseCache(KVStore kvStore, String scope, Duration ttl, Map<String, Duration> ttls) {
+        this.kvStore = kvStore;
+        this.scope = scope;
+        this.ttl = ttl;
+        this.ttls = ttls;
+    }
+
+    /**
+     * @return the stored entry, fresh or not, or {@code null} when there is none
+     */
+    @SuppressWarnings("unchecked")
+    public Entry get(String url, Set<String> attributes) throws Exception {
+        String key = key(url, attributes);
+
+        return kvStore.getValue(key)
+            .map(KVValue::value)
+            .filter(Map.class::isInstance)
+            .map(value -> (Map<String, Object>) value)
+            .map(value -> new Entry(
+                key,
+                (Map<String, Object>) value.get("data"),
+                (String) value.get("etag"),
+                Instant.parse((String) value.get("expiresAt"))
+            ))
+            .orElse(null);
+    }
+
+    public void put(String url, Set<String> attributes, Map<String, Object> data, String etag) throws Exception {
+        Duration typeTtl = ttls.getOrDefault(String.valueOf(data.get("type")), ttl);
+        store(key(url, attributes), data, etag, typeTtl);
+    }
+
+    /**
+     * Renews a stale entry the server answered {@code 304 Not Modified} for.
+     */
+    public void renew(Entry entry) throws Exception {
+        Duration typeTtl = ttls.getOrDefault(String.valueOf(entry.data().get("type")), ttl);
+        store(entry.key(), entry.data(), entry.etag(), typeTtl);
+        revalidations.incrementAndGet();
+    }
+
+    public void hit() {
+        hits.incrementAndGet();
+    }
+
+    public void miss() {
+        misses.incrementAndGet();
+    }
+
+    /**
+     * Emits the hit, miss and revalidation counts as task metrics; a revalidated entry also counts as a hit.
+     */
+    public void report(RunContext runContext) {
+        runContext.metric(Counter.of("cache.hit", hits.get() + revalidations.get()));
+        runContext.metric(Counter.of("cache.miss", misses.get()));
+        runContext.metric(Counter.of("cache.revalidated", revalidations.get()));
+    }
+
+    private void store(String key, Map<String, Object> data, String etag, Duration typeTtl) throws Exception {
+        if (typeTtl.isZero() || typeTtl.isNegative()) {
+            return;
+        }
+
+        Map<String, Object> value = new HashMap<>();
+        value.put("data", data);
+        value.put("etag", etag);
+        value.put("expiresAt", Instant.now().plus(typeTtl).toString());
+
+        Duration retention = etag == null ? typeTtl : typeTtl.plus(REVALIDATION_WINDOW);
+        kvStore.put(key, new KVValueAndMetadata(new KVMetadata("Cached Klaviyo response", retention), value));
+    }
+
+    private String key(String url, Set<String> attributes) throws Exception {
+        String projection = attributes == null ? "*" : String.join(",", new TreeSet<>(attributes));
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] hash = digest.digest((scope + "\n" + url + "\n" + projection).getBytes(StandardCharsets.UTF_8));
+
+        return "klaviyo_cache_" + HexFormat.of().formatHex(hash);
+    }
+
+    public record Entry(String key, Map<String, Object> data, String etag, Instant expiresAt) {
+        public boolean isFresh() {
+            return Instant.now().isBefore(expiresAt);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Per-request retry policy with full-jitter exponential backoff.
+ * The retry budget caps the total backoff time of a task run and is shared by all its threads.
+ */
+public class RetryPolicy {
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final AtomicLong remainingBudget;
+    private final Logger logger;
+
+    public RetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration retryBudget, Logger logger) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = Math.max(1L, initialBackoff.toNanos());
+        this.maxBackoff = Math.max(this.initialBackoff, maxBackoff.toNanos());
+        this.remainingBudget = new AtomicLong(retryBudget.toNanos());
+        this.logger = logger;
+    }
+
+    /**
+     * Throttled and server-side errors are worth retrying; other client errors are not.
+     */
+    public static boolean isRetryable(int status) {
+        return status == 429 || status >= 500;
+    }
+
+    /**
+     * IO failures such as connection resets or read timeouts are transient, unless the thread was interrupted.
+     */
+    public static boolean isTransient(Throwable throwable) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Failures to connect, such as a refused connection or an unknown host, happen before any byte of the request is
+     * sent, so even a request that is not idempotent can be retried after them.
+     */
+    public static boolean isUnsent(Throwable throwable) {
+        if (Thread.currentThread().isInterrupted()) {
+            return false;
+        }
+
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConnectException || cause instanceof NoRouteToHostException
+                || cause instanceof UnknownHostException || cause instanceof HttpConnectTimeoutException) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Waits before the next attempt of a failed request.
+     *
+     * @param attempt the number of attempts already made for this request
+     * @return {@code false} when the request must not be retried, because attempts or the retry budget are exhausted
+     */
+    public boolean backoff(int attempt, String description, String reason) throws InterruptedException {
+        if (attempt >= maxAttempts) {
+            return false;
+        }
+
+        long delay = ThreadLocalRandom.current().nextLong(ceiling(attempt) + 1);
+
+        if (remainingBudget.addAndGet(-delay) < 0) {
+            logger.warn("Retry budget exhausted, giving up on {} after {} attempt(s): {}", description, attempt, reason);
+            return false;
+        }
+
+        logger.warn("Retrying {} in {} ms (attempt {}/{}): {}", description, TimeUnit.NANOSECONDS.toMillis(delay), attempt + 1, maxAttempts, reason);
+        TimeUnit.NANOSECONDS.sleep(delay);
+
+        return true;
+    }
+
+    /**
+     * @return {@code initialBackoff * 2^(attempt - 1)}, saturated at {@code maxBackoff} instead of overflowing
+     */
+    long ceiling(int attempt) {
+        int shift = Math.clamp(attempt - 1, 0, Long.SIZE - 2);
+        return initialBackoff > maxBackoff >> shift ? maxBackoff : initialBackoff << shift;
+    }
+}
@@ -1,25 +1,29 @@
 package io.kestra.plugin.klaviyo.campaign;
 
-import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 
-import com.fasterxml.jackson.databind.JsonNode;
-
-import io.kestra.core.http.HttpRequest;
-import io.kestra.core.http.HttpResponse;
-import io.kestra.core.http.client.HttpClient;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
-import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoByIdTask;
 import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.ErrorMode;
+import io.kestra.plugin.klaviyo.JsonApiDecoder;
+import io.kestra.plugin.klaviyo.KlaviyoApiException;
+import io.kestra.plugin.klaviyo.KlaviyoClient;
+import io.kestra.plugin.klaviyo.RateLimitTier;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -37,7 +41,7 @@ import io.kestra.core.models.annotations.PluginProperty;
 @EqualsAndHashCode
 @Schema(
     title = "Fetch campaigns by ID",
-    description = "Retrieves Klaviyo campaigns by ID, using fetchType (default FETCH) to control whether one row, all rows, or a stored file is produced; waits ~1s between API calls."
+    description = "Retrieves Klaviyo campaigns by ID, using fetchType (default FETCH) to control whether one row, all rows, or a stored file is produced; API calls are paced to the endpoint rate limits."
 )
 @Plugin(
     examples = {
@@ -56,77 +60,136 @@ import io.kestra.core.models.annotations.PluginProperty;
                       - "campaign_id_1"
                     fetchType: FETCH_ONE
                 """
+        ),
+        @Example(
+            title = "Look up many campaigns in batches of 100 IDs",
+            full = true,
+            code = """
+                id: klaviyo_get_campaigns_batched
+                namespace: company.team
+
+                inputs:
+                  - id: campaign_ids
+                    type: ARRAY
+                    itemType: STRING
+
+                tasks:
+                  - id: get_campaigns
+                    type: io.kestra.plugin.klaviyo.campaign.Get
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    campaignIds: "{{ inputs.campaign_ids }}"
+                    batchSize: 100
+                    fetchType: STORE
+                """
         )
     }
 )
-public class Get extends AbstractKlaviyoTask implements RunnableTask<AbstractKlaviyoTask.Output> {
+public class Get extends AbstractKlaviyoByIdTask implements RunnableTask<AbstractKlaviyoTask.Output> {
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final List<String> CHANNELS = List.of("email", "sms", "mobile_push");
 
     @Schema(title = "Campaign IDs", description = "Klaviyo campaign IDs to fetch; order is preserved in the output.")
     @NotNull
     @PluginProperty(group = "main")
     protected Property<List<String>> campaignIds;
 
+    @Schema(
+        title = "Batch size",
+        description = "When set, campaigns are looked up by batches of this many IDs through the filtered, paginated `GET /campaigns` endpoint instead of one `GET /campaigns/{id}` per ID; capped at 100. Rows still follow the input order. Cannot be combined with `cacheTtl`."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<Integer> batchSize;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         Logger logger = runContext.logger();
 
-        String rApiKey = runContext.render(this.apiKey).as(String.class).orElseThrow();
-        String rBaseUrl = runContext.render(this.baseUrl).as(String.class).orElseThrow();
         List<String> rCampaignIds = runContext.render(this.campaignIds).asList(String.class);
-        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
-
-        long size = 0L;
-        List<Map<String, Object>> allCampaigns = new ArrayList<>();
-
-        try (
-            HttpClient httpClient = HttpClient.builder()
-                .runContext(runContext)
-                .build()
-        ) {
-
-            for (String campaignId : rCampaignIds) {
-                induceDelay();
-
-                String url = rBaseUrl + "/campaigns/" + campaignId;
-
-                HttpRequest request = HttpRequest.builder()
-                    .uri(URI.create(url))
-                    .method("GET")
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/vnd.api+json")
-                    .addHeader("Authorization", "Klaviyo-API-Key " + rApiKey)
-                    .addHeader("revision", getApiVersion())
-                    .build();
-
-                HttpResponse<String> response = httpClient.request(request, String.class);
-
-                if (response.getStatus().getCode() != 200) {
-                    throw new RuntimeException(
-                        "Failed to retrieve campaign " + campaignId + ": " +
-                            response.getStatus().getCode() + " - " + response.getBody()
-                    );
-                }
+        Optional<Integer> rBatchSize = runContext.render(this.batchSize).as(Integer.class);
 
-                JsonNode responseJson = JacksonMapper.ofJson().readTree(response.getBody());
-                JsonNode dataNode = responseJson.get("data");
+        Output output = rBatchSize.isPresent()
+            ? fetchInBatches(runContext, rCampaignIds, Math.min(Math.max(rBatchSize.get(), 1), MAX_BATCH_SIZE))
+            : fetchByIds(runContext, rCampaignIds, "campaign", RateLimitTier.M, id -> "/campaigns/" + id);
+        logger.info("Successfully retrieved {} campaign(s)", output.getSize());
 
-                if (dataNode != null) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> campaign = JacksonMapper.ofJson().convertValue(dataNode, Map.class);
-                    allCampaigns.add(campaign);
-                    size++;
+        return output;
+    }
+
+    /**
+     * Checkpoints apply to batches as they do to single IDs; the KV cache does not, as it holds single-resource
+     * responses with their {@code ETag}, which the list endpoint does not return.
+     */
+    private Output fetchInBatches(RunContext runContext, List<String> ids, int rBatchSize) throws Exception {
+        if (runContext.render(this.cacheTtl).as(Duration.class).isPresent()) {
+            throw new IllegalArgumentException("`cacheTtl` only applies to lookups by ID and cannot be combined with `batchSize`");
+        }
+
+        Set<String> rAttributes = attributes(runContext);
+        ErrorMode rErrorMode = runContext.render(this.errorMode).as(ErrorMode.class).orElse(ErrorMode.FAIL_FAST);
+        Map<Integer, Map<String, Object>> errors = new ConcurrentSkipListMap<>();
+
+        try (KlaviyoClient client = client(runContext)) {
+            return fetchResumable(runContext, ids, rBatchSize, errors, start -> positions -> {
+                List<String> batch = positions.stream().map(ids::get).toList();
+                try {
+                    return fetchBatch(client, batch, rAttributes, rErrorMode == ErrorMode.CONTINUE ? errors : null, positions);
+                } catch (Exception e) {
+                    if (rErrorMode == ErrorMode.FAIL_FAST || e instanceof InterruptedException) {
+                        throw e;
+                    }
+                    positions.forEach(position -> errors.put(position, error(ids.get(position), e)));
+                    return List.of();
                 }
+            });
+        }
+    }
+
+    /**
+     * Klaviyo only lists campaigns of one channel at a time, so IDs not found on a channel are looked up on the next one.
+     *
+     * @param errors where IDs not found on any channel are reported by input position, or {@code null} to fail on them
+     */
+    private List<Map<String, Object>> fetchBatch(KlaviyoClient client, List<String> batch, Set<String> rAttributes, Map<Integer, Map<String, Object>> errors, List<Integer> positions) throws Exception {
+        Map<String, Map<String, Object>> campaignsById = new HashMap<>();
+
+        for (String channel : CHANNELS) {
+            List<String> missing = batch.stream()
+                .filter(id -> !campaignsById.containsKey(id))
+                .distinct()
+                .toList();
+
+            if (missing.isEmpty()) {
+                break;
             }
 
-            Output output = applyFetchStrategy(rFetchType, allCampaigns, runContext);
-            logger.info("Successfully retrieved {} campaign(s)", size);
+            String filter = "equals(messages.channel,'" + channel + "'),any(id,[" +
+                missing.stream().map(id -> "\"" + id + "\"").collect(Collectors.joining(",")) +
+                "])";
 
-            return Output.builder()
-                .size(size)
-                .row(output.getRow())
-                .rows(output.getRows())
-                .uri(output.getUri())
-                .build();
+            String next = "/campaigns?filter=" + KlaviyoClient.encode(filter);
+            while (next != null) {
+                JsonApiDecoder.Document page = client.fetchPage(next, RateLimitTier.M, channel + " campaigns", rAttributes);
+                page.data().forEach(campaign -> campaignsById.put((String) campaign.get("id"), campaign));
+                next = page.next();
+            }
         }
+
+        List<Map<String, Object>> rows = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            String id = batch.get(i);
+            Map<String, Object> campaign = campaignsById.get(id);
+            if (campaign != null) {
+                rows.add(campaign);
+                continue;
+            }
+
+            KlaviyoApiException notFound = new KlaviyoApiException("campaign " + id, 404, "not found");
+            if (errors == null) {
+                throw notFound;
+            }
+            errors.put(positions.get(i), error(id, notFound));
+        }
+
+        return rows;
     }
 }
@@ -1,25 +1,17 @@
 package io.kestra.plugin.klaviyo.campaign;
 
-import java.net.URI;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 
-import com.fasterxml.jackson.databind.JsonNode;
-
-import io.kestra.core.http.HttpRequest;
-import io.kestra.core.http.HttpResponse;
-import io.kestra.core.http.client.HttpClient;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
-import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoByIdTask;
 import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.RateLimitTier;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -37,7 +29,7 @@ import io.kestra.core.models.annotations.PluginProperty;
 @EqualsAndHashCode
 @Schema(
     title = "Estimate recipients for campaigns",
-    description = "Retrieves Klaviyo recipient estimations for the provided campaign IDs; fetchType (default FETCH) controls row vs. file output and the task waits ~1s between API calls."
+    description = "Retrieves Klaviyo recipient estimations for the provided campaign IDs; fetchType (default FETCH) controls row vs. file output and API calls are paced to the endpoint rate limits."
 )
 @Plugin(
     examples = {
@@ -76,7 +68,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class GetRecipientCount extends AbstractKlaviyoTask implements RunnableTask<AbstractKlaviyoTask.Output> {
+public class GetRecipientCount extends AbstractKlaviyoByIdTask implements RunnableTask<AbstractKlaviyoTask.Output> {
 
     @Schema(title = "Campaign IDs", description = "Klaviyo campaign IDs to estimate recipients for; preserves input order.")
     @NotNull
@@ -87,63 +79,11 @@ public class GetRecipientCount extends AbstractKlaviyoTask implements RunnableTa
     public Output run(RunContext runContext) throws Exception {
         Logger logger = runContext.logger();
 
-        String rApiKey = runContext.render(this.apiKey).as(String.class).orElseThrow();
-        String rBaseUrl = runContext.render(this.baseUrl).as(String.class).orElseThrow();
         List<String> rCampaignIds = runContext.render(this.campaignIds).asList(String.class);
-        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
-
-        long size = 0L;
-        List<Map<String, Object>> allEstimations = new ArrayList<>();
-
-        try (
-            HttpClient httpClient = HttpClient.builder()
-                .runContext(runContext)
-                .build()
-        ) {
-
-            for (String campaignId : rCampaignIds) {
-                induceDelay();
-
-                String url = rBaseUrl + "/campaign-recipient-estimations/" + campaignId;
-
-                HttpRequest request = HttpRequest.builder()
-                    .uri(URI.create(url))
-                    .method("GET")
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/vnd.api+json")
-                    .addHeader("Authorization", "Klaviyo-API-Key " + rApiKey)
-                    .addHeader("revision", getApiVersion())
-                    .build();
-
-                HttpResponse<String> response = httpClient.request(request, String.class);
-
-                if (response.getStatus().getCode() != 200) {
-                    throw new RuntimeException(
-                        "Failed to retrieve recipient estimation for campaign " + campaignId + ": " +
-                            response.getStatus().getCode() + " - " + response.getBody()
-                    );
-                }
-
-                JsonNode responseJson = JacksonMapper.ofJson().readTree(response.getBody());
-                JsonNode dataNode = responseJson.get("data");
-
-                if (dataNode != null) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> estimation = JacksonMapper.ofJson().convertValue(dataNode, Map.class);
-                    allEstimations.add(estimation);
-                    size++;
-                }
-            }
 
-            Output output = applyFetchStrategy(rFetchType, allEstimations, runContext);
-            logger.info("Successfully retrieved {} recipient estimation(s)", size);
+        Output output = fetchByIds(runContext, rCampaignIds, "recipient estimation for campaign", RateLimitTier.M, id -> "/campaign-recipient-estimations/" + id);
+        logger.info("Successfully retrieved {} recipient estimation(s)", output.getSize());
 
-            return Output.builder()
-                .size(size)
-                .row(output.getRow())
-                .rows(output.getRows())
-                .uri(output.getUri())
-                .build();
-        }
+        return output;
     }
 }
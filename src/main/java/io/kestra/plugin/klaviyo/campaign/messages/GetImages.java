@@ -1,25 +1,17 @@
 package io.kestra.plugin.klaviyo.campaign.messages;
 
-import java.net.URI;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 
 import org.slf4j.Logger;
 
-import com.fasterxml.jackson.databind.JsonNode;
-
-import io.kestra.core.http.HttpRequest;
-import io.kestra.core.http.HttpResponse;
-import io.kestra.core.http.client.HttpClient;
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
-import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoByIdTask;
 import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.RateLimitTier;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -37,7 +29,7 @@ import io.kestra.core.models.annotations.PluginProperty;
 @EqualsAndHashCode
 @Schema(
     title = "Fetch mobile push images",
-    description = "Retrieves images for campaign messages whose channel is `mobile_push`; fetchType (default FETCH) controls row vs. file output and the task waits ~1s between API calls."
+    description = "Retrieves images for campaign messages whose channel is `mobile_push`; fetchType (default FETCH) controls row vs. file output and API calls are paced to the endpoint rate limits."
 )
 @Plugin(
     examples = {
@@ -76,7 +68,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class GetImages extends AbstractKlaviyoTask implements RunnableTask<AbstractKlaviyoTask.Output> {
+public class GetImages extends AbstractKlaviyoByIdTask implements RunnableTask<AbstractKlaviyoTask.Output> {
 
     @Schema(title = "Message IDs", description = "Campaign message IDs with channel `mobile_push`; order is preserved.")
     @NotNull
@@ -87,64 +79,11 @@ public class GetImages extends AbstractKlaviyoTask implements RunnableTask<Abstr
     public Output run(RunContext runContext) throws Exception {
         Logger logger = runContext.logger();
 
-        String rApiKey = runContext.render(this.apiKey).as(String.class).orElseThrow();
-        String rBaseUrl = runContext.render(this.baseUrl).as(String.class).orElseThrow();
         List<String> rMessageIds = runContext.render(this.messageIds).asList(String.class);
-        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
-
-        long size = 0L;
-        List<Map<String, Object>> allImages = new ArrayList<>();
-
-        try (
-            HttpClient httpClient = HttpClient.builder()
-                .runContext(runContext)
-                .build()
-        ) {
-
-            for (String messageId : rMessageIds) {
-                induceDelay();
-
-                String url = rBaseUrl + "/campaign-messages/" + messageId + "/image";
-
-                HttpRequest request = HttpRequest.builder()
-                    .uri(URI.create(url))
-                    .method("GET")
-                    .addHeader("Content-Type", "application/json")
-                    .addHeader("Accept", "application/vnd.api+json")
-                    .addHeader("Authorization", "Klaviyo-API-Key " + rApiKey)
-                    .addHeader("revision", getApiVersion())
-                    .build();
 
-                HttpResponse<String> response = httpClient.request(request, String.class);
+        Output output = fetchByIds(runContext, rMessageIds, "image for message", RateLimitTier.M, id -> "/campaign-messages/" + id + "/image");
+        logger.info("Successfully retrieved {} image(s) for message(s)", output.getSize());
 
-                if (response.getStatus().getCode() != 200) {
-                    throw new RuntimeException(
-                        "Failed to retrieve image for message " + messageId + ": " +
-                            response.getStatus().getCode() + " - " + response.getBody()
-                    );
-                }
-
-                JsonNode responseJson = JacksonMapper.ofJson().readTree(response.getBody());
-                JsonNode dataNode = responseJson.get("data");
-
-                if (dataNode != null) {
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> image = JacksonMapper.ofJson().convertValue(dataNode, Map.class);
-                    allImages.add(image);
-                    size++;
-                }
-            }
-
-            Output output = applyFetchStrategy(rFetchType, allImages, runContext);
-            logger.info("Successfully retrieved {} image(s) for message(s)", size);
-
-            return Output.builder()
-                .size(size)
-                .row(output.getRow())
-                .rows(output.getRows())
-                .uri(output.getUri())
-                .build();
-        }
+        return output;
     }
-
 }
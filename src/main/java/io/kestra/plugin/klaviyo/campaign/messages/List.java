@@ -0,0 +1,95 @@
+package io.kestra.plugin.klaviyo.campaign.messages;
+
+import java.util.Set;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.KlaviyoClient;
+import io.kestra.plugin.klaviyo.RateLimitTier;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+@Schema(
+    title = "List campaign messages",
+    description = "Lists the messages of each campaign ID, following pagination cursors; rows are grouped by campaign in input order and streamed to the output page by page. fetchType (default FETCH) controls row vs. file output."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "List the messages of the campaigns returned by campaign.List",
+            full = true,
+            code = """
+                id: klaviyo_list_messages
+                namespace: company.team
+
+                tasks:
+                  - id: list_campaigns
+                    type: io.kestra.plugin.klaviyo.campaign.List
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    filter: "equals(status,'Draft')"
+
+                  - id: list_messages
+                    type: io.kestra.plugin.klaviyo.campaign.messages.List
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    campaignIds: "{{ outputs.list_campaigns.rows | jq('.[].id') }}"
+                    fetchType: STORE
+                """
+        )
+    }
+)
+public class List extends AbstractKlaviyoTask implements RunnableTask<AbstractKlaviyoTask.Output> {
+
+    @Schema(title = "Campaign IDs", description = "Klaviyo campaign IDs whose messages are listed; order is preserved.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<java.util.List<String>> campaignIds;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        java.util.List<String> rCampaignIds = runContext.render(this.campaignIds).asList(String.class);
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+        int rConcurrency = concurrency(runContext);
+        Set<String> rAttributes = attributes(runContext);
+
+        try (KlaviyoClient client = client(runContext)) {
+            Output output = applyFetchStrategy(rFetchType, consumer -> streamInOrder(
+                rCampaignIds,
+                rConcurrency,
+                (campaignId, campaignConsumer) -> paginate(
+                    client,
+                    "/campaigns/" + campaignId + "/campaign-messages",
+                    RateLimitTier.M,
+                    "messages for campaign " + campaignId,
+                    rAttributes,
+                    campaignConsumer
+                ),
+                consumer,
+                RowBuffer::inMemory
+            ), runContext);
+            logger.info("Successfully listed {} message(s)", output.getSize());
+
+            return output;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package io.kestra.plugin.klaviyo.events;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.BatchIterator;
+import io.kestra.plugin.klaviyo.ErrorMode;
+import io.kestra.plugin.klaviyo.FileFormat;
+import io.kestra.plugin.klaviyo.KlaviyoClient;
+import io.kestra.plugin.klaviyo.RateLimitTier;
+import io.kestra.plugin.klaviyo.Records;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+@Schema(
+    title = "Create events in bulk",
+    description = "Streams events from an ION or CSV file in internal storage and sends them through the bulk create events endpoint, in batches as large as Klaviyo allows (1,000 events or 5 MB). " +
+        "Batches are sent concurrently within the endpoint rate limits; the output holds one row per accepted batch with the position of its `first` event, its number of `events` and its size in `bytes`. " +
+        "A batch is not retried on a server error or a timeout once sent, as Klaviyo may already have accepted it and only dedupes events by `unique_id`. " +
+        "In `CONTINUE` error mode, a failed batch is listed in `errors` with the position of its first event as `id`, and an invalid event, such as one without `profile`, with its own position."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Send the orders extracted by a previous task as Placed Order events",
+            full = true,
+            code = """
+                id: klaviyo_send_orders
+                namespace: company.team
+
+                tasks:
+                  - id: send_events
+                    type: io.kestra.plugin.klaviyo.events.BulkCreate
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    from: "{{ outputs.extract.uri }}"
+                    metric: Placed Order
+                    concurrency: 10
+                    errorMode: CONTINUE
+                    fetchType: STORE
+                """
+        )
+    }
+)
+public class BulkCreate extends AbstractKlaviyoTask implements RunnableTask<BulkCreate.Output> {
+    private static final int MAX_EVENTS_PER_BATCH = 1_000;
+    private static final long MAX_BYTES_PER_BATCH = 5L * 1024 * 1024;
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final byte[] PREFIX = "{\"data\":{\"type\":\"event-bulk-create-job\",\"attributes\":{\"events-bulk-create\":{\"data\":[".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SUFFIX = "]}}}}".getBytes(StandardCharsets.UTF_8);
+
+    @Schema(
+        title = "Events file",
+        description = "Internal storage URI of the events to send, read as a stream. Each record has a `profile` (its attributes, such as `email`, or a JSON:API profile with an `id`), " +
+            "a `metric` name, and the optional `properties`, `time`, `value`, `value_currency` and `unique_id` of the event. " +
+            "In a CSV file, dotted column names such as `profile.email` or `properties.order_id` build nested fields and empty cells are ignored; `value` is sent as a number, while the other cells, properties included, are sent as text."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> from;
+
+    @Schema(title = "File format")
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<FileFormat> format = Property.ofValue(FileFormat.ION);
+
+    @Schema(title = "Default metric", description = "Metric name of the events whose record has no `metric`.")
+    @PluginProperty(group = "main")
+    protected Property<String> metric;
+
+    @Schema(title = "Maximum events per batch", description = "Caps the events of a single request, up to the Klaviyo maximum of 1,000; a batch is also closed before it exceeds 5 MB.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> maxEventsPerBatch = Property.ofValue(MAX_EVENTS_PER_BATCH);
+
+    @Schema(
+        title = "Error mode",
+        description = "`FAIL_FAST` (default) fails the task on the first invalid event or batch Klaviyo rejects. `CONTINUE` leaves invalid events out of the batches, keeps sending the other batches and lists each invalid event and failed batch in `errors`."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<ErrorMode> errorMode = Property.ofValue(ErrorMode.FAIL_FAST);
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        URI rFrom = URI.create(runContext.render(this.from).as(String.class).orElseThrow());
+        FileFormat rFormat = runContext.render(this.format).as(FileFormat.class).orElse(FileFormat.ION);
+        String rMetric = runContext.render(this.metric).as(String.class).orElse(null);
+        int rMaxEvents = Math.clamp(runContext.render(this.maxEventsPerBatch).as(Integer.class).orElse(MAX_EVENTS_PER_BATCH), 1, MAX_EVENTS_PER_BATCH);
+        int rConcurrency = concurrency(runContext);
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+        ErrorMode rErrorMode = runContext.render(this.errorMode).as(ErrorMode.class).orElse(ErrorMode.FAIL_FAST);
+
+        AtomicLong accepted = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        Map<Long, Map<String, Object>> errors = new ConcurrentSkipListMap<>();
+
+        BatchIterator.RejectHandler rejectHandler = rErrorMode == ErrorMode.FAIL_FAST ? null : (position, e) -> {
+            failed.incrementAndGet();
+            Map<String, Object> error = error(String.valueOf(position + 1), e);
+            error.put("events", 1);
+            errors.put(position, error);
+        };
+
+        try (KlaviyoClient client = client(runContext); Stream<Map<String, Object>> records = Records.read(runContext, rFrom, rFormat)) {
+            AbstractKlaviyoTask.Output output = applyFetchStrategy(
+                rFetchType,
+                consumer -> fetchInOrder(
+                    () -> new BatchIterator(records.iterator(), record -> event(record, rMetric), rejectHandler, PREFIX, SUFFIX, rMaxEvents, MAX_BYTES_PER_BATCH),
+                    rConcurrency,
+                    batch -> {
+                        try {
+                            client.submit("/event-bulk-create-jobs", RateLimitTier.M, "batch of " + batch.count() + " event(s) from #" + (batch.first() + 1), batch.document());
+                        } catch (Exception e) {
+                            failed.addAndGet(batch.count());
+                            if (rErrorMode == ErrorMode.FAIL_FAST || e instanceof InterruptedException) {
+                                throw e;
+                            }
+
+                            Map<String, Object> error = error(String.valueOf(batch.first() + 1), e);
+                            error.put("events", batch.count());
+                            errors.put(batch.first(), error);
+                            return List.of();
+                        }
+
+                        accepted.addAndGet(batch.count());
+
+                        Map<String, Object> row = new LinkedHashMap<>();
+                        row.put("first", batch.first() + 1);
+                        row.put("events", batch.count());
+                        row.put("bytes", batch.document().length);
+                        return List.of(row);
+                    },
+                    consumer
+                ),
+                runContext,
+                rErrorMode == ErrorMode.CONTINUE ? errors.values() : null
+            );
+
+            runContext.metric(Counter.of("events.accepted", accepted.get()));
+            runContext.metric(Counter.of("events.failed", failed.get()));
+            logger.info("Sent {} event(s) in {} batch(es)", accepted.get(), output.getSize());
+
+            return Output.builder()
+                .size(output.getSize())
+                .row(output.getRow())
+                .rows(output.getRows())
+                .uri(output.getUri())
+                .errors(output.getErrors())
+                .eventCount(accepted.get())
+                .failedEventCount(failed.get())
+                .build();
+        }
+    }
+
+    /**
+     * Serializes a record as an {@code event-bulk-create} entry holding its profile and its single event.
+     */
+    private static byte[] event(Map<String, Object> record, String defaultMetric) throws IOException {
+        Object metric = record.getOrDefault("metric", defaultMetric);
+        if (metric == null) {
+            throw new IllegalArgumentException("An event has no `metric` and no default metric is set");
+        }
+        if (!(record.get("profile") instanceof Map<?, ?> profile)) {
+            throw new IllegalArgumentException("An event of metric '" + metric + "' has no `profile`");
+        }
+
+        Map<String, Object> eventAttributes = new LinkedHashMap<>();
+        eventAttributes.put("properties", record.getOrDefault("properties", Map.of()));
+        for (String field : List.of("time", "value", "value_currency", "unique_id")) {
+            if (record.get(field) != null) {
+                eventAttributes.put(field, record.get(field));
+            }
+        }
+        if (record.get("value") instanceof String value) {
+            eventAttributes.put("value", number(value));
+        }
+        eventAttributes.put("metric", Map.of("data", Map.of(
+            "type", "metric",
+            "attributes", metric instanceof Map<?, ?> ? metric : Map.of("name", metric)
+        )));
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("profile", Map.of("data", resource("profile", profile)));
+        attributes.put("events", Map.of("data", List.of(Map.of("type", "event", "attributes", eventAttributes))));
+
+        return MAPPER.writeValueAsBytes(Map.of("type", "event-bulk-create", "attributes", attributes));
+    }
+
+    /**
+     * Parses the {@code value} of an event read from CSV, whose cells are all text.
+     */
+    private static BigDecimal number(String value) {
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("An event has a non-numeric `value`: '" + value + "'");
+        }
+    }
+
+    /**
+     * @return a JSON:API resource for either bare attributes or a resource with {@code id} and {@code attributes}
+     */
+    private static Map<String, Object> resource(String type, Map<?, ?> value) {
+        Map<String, Object> resource = new LinkedHashMap<>();
+        resource.put("type", type);
+        if (value.get("attributes") instanceof Map<?, ?> attributes) {
+            if (value.get("id") != null) {
+                resource.put("id", value.get("id"));
+            }
+            resource.put("attributes", attributes);
+        } else {
+            resource.put("attributes", value);
+        }
+        return resource;
+    }
+
+    @SuperBuilder
+    @Getter
+    public static class Output extends AbstractKlaviyoTask.Output {
+        @Schema(title = "Number of events accepted by Klaviyo")
+        private final Long eventCount;
+
+        @Schema(title = "Number of invalid events and events of the failed batches", description = "Always `0` in `FAIL_FAST` error mode, since the first failure fails the task.")
+        private final Long failedEventCount;
+    }
+}
@@ -0,0 +1,270 @@
+package io.kestra.plugin.klaviyo.events;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoListTask;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.KlaviyoClient;
+import io.kestra.plugin.klaviyo.RateLimitTier;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+@Schema(
+    title = "List events",
+    description = "Lists the Klaviyo events of a `datetime` range. The range is split into `slices` sub-ranges whose cursors are followed concurrently, so a long backfill is not bound to a single cursor; " +
+        "fetchType (default FETCH) controls row vs. file output. With `ordered` (default), events are output oldest first; otherwise each event is output as soon as it is fetched."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Export the events of a quarter to internal storage",
+            full = true,
+            code = """
+                id: klaviyo_export_events
+                namespace: company.team
+
+                tasks:
+                  - id: list_events
+                    type: io.kestra.plugin.klaviyo.events.List
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    startDate: "2025-01-01T00:00:00Z"
+                    endDate: "2025-04-01T00:00:00Z"
+                    slices: 12
+                    concurrency: 12
+                    ordered: false
+                    fetchType: STORE
+                """
+        ),
+        @Example(
+            title = "List yesterday's events of a metric, oldest first",
+            full = true,
+            code = """
+                id: klaviyo_daily_events
+                namespace: company.team
+
+                tasks:
+                  - id: list_events
+                    type: io.kestra.plugin.klaviyo.events.List
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    startDate: "{{ trigger.date | dateAdd(-1, 'DAYS') | date('yyyy-MM-dd') }}"
+                    endDate: "{{ trigger.date | date('yyyy-MM-dd') }}"
+                    filter: "equals(metric_id,'METRIC_ID')"
+                    fetchType: STORE
+
+                triggers:
+                  - id: daily
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 1 * * *"
+                """
+        )
+    }
+)
+public class List extends AbstractKlaviyoListTask implements RunnableTask<AbstractKlaviyoTask.Output> {
+    private static final String DATETIME = "datetime";
+
+    @Schema(title = "Start date", description = "Start of the range, inclusive, as an ISO 8601 date-time or a date taken at midnight UTC.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> startDate;
+
+    @Schema(title = "End date", description = "End of the range, exclusive, as an ISO 8601 date-time or a date taken at midnight UTC; defaults to now.")
+    @PluginProperty(group = "main")
+    protected Property<String> endDate;
+
+    @Schema(
+        title = "Slices",
+        description = "Number of equal sub-ranges the range is split into, each paginated with its own cursor; up to `concurrency` of them are fetched at once."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> slices = Property.ofValue(4);
+
+    @Schema(
+        title = "Ordered output",
+        description = "Output events oldest first: each slice is sorted by `datetime`, which is the only `sort` allowed. The events of the oldest slice in flight are output as they are fetched, while the slices fetched ahead of their turn are buffered to disk. " +
+            "When disabled, events are output as they are fetched, in no particular order, and `sort` is left to the endpoint."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Boolean> ordered = Property.ofValue(true);
+
+    @Override
+    public AbstractKlaviyoTask.Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        Instant rStartDate = dateTime(runContext.render(this.startDate).as(String.class).orElseThrow());
+        Instant rEndDate = runContext.render(this.endDate).as(String.class).map(AbstractKlaviyoTask::dateTime).orElse(Instant.now());
+        int rSlices = Math.max(1, runContext.render(this.slices).as(Integer.class).orElse(4));
+        int rConcurrency = concurrency(runContext);
+        boolean rOrdered = runContext.render(this.ordered).as(Boolean.class).orElse(true);
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+        Set<String> rAttributes = attributes(runContext);
+
+        if (!rEndDate.isAfter(rStartDate)) {
+            throw new IllegalArgumentException("The end date " + rEndDate + " must be after the start date " + rStartDate);
+        }
+
+        String rSort = runContext.render(this.sort).as(String.class).orElse(null);
+        if (rOrdered && rSort != null && !rSort.equals(DATETIME)) {
+            throw new IllegalArgumentException("`sort` must be `" + DATETIME + "` when `ordered` is enabled, not `" + rSort + "`; disable `ordered` to use another sort");
+        }
+
+        java.util.List<Slice> ranges = slices(rStartDate, rEndDate, rSlices);
+        java.util.List<String> paths = new ArrayList<>();
+        for (Slice slice : ranges) {
+            String path = listPath(runContext, "/events", java.util.List.of(
+                "greater-or-equal(" + DATETIME + "," + slice.from() + ")",
+                "less-than(" + DATETIME + "," + slice.to() + ")"
+            ));
+            if (rOrdered && rSort == null) {
+                path += "&sort=" + DATETIME;
+            }
+            paths.add(path);
+        }
+
+        try (KlaviyoClient client = client(runContext)) {
+            AbstractKlaviyoTask.Output output = applyFetchStrategy(
+                rFetchType,
+                consumer -> {
+                    if (rOrdered) {
+                        streamInOrder(
+                            ranges,
+                            rConcurrency,
+                            (slice, sliceConsumer) -> paginate(client, paths.get(slice.index()), RateLimitTier.XL, slice.description(), rAttributes, sliceConsumer),
+                            consumer,
+                            () -> spool(runContext)
+                        );
+                    } else {
+                        fetchInOrder(
+                            ranges,
+                            rConcurrency,
+                            slice -> {
+                                paginate(client, paths.get(slice.index()), RateLimitTier.XL, slice.description(), rAttributes, row -> {
+                                    synchronized (consumer) {
+                                        consumer.accept(row);
+                                    }
+                                });
+                                return java.util.List.of();
+                            },
+                            consumer
+                        );
+                    }
+                },
+                runContext
+            );
+
+            logger.info("Successfully listed {} event(s) between {} and {} in {} slice(s)", output.getSize(), rStartDate, rEndDate, ranges.size());
+
+            return output;
+        }
+    }
+
+    /**
+     * Buffers the events of a slice fetched ahead of its turn in a temporary ION file, created on its first event, so
+     * they are not held in memory.
+     */
+    private static RowBuffer spool(RunContext runContext) {
+        return new RowBuffer() {
+            private Path file;
+            private OutputStream output;
+
+            @Override
+            public void add(Map<String, Object> row) throws Exception {
+                if (output == null) {
+                    file = runContext.workingDir().createTempFile(".ion");
+                    output = new BufferedOutputStream(new FileOutputStream(file.toFile()), FileSerde.BUFFER_SIZE);
+                }
+                FileSerde.write(output, row);
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public void drain(RowConsumer consumer) throws Exception {
+                if (output == null) {
+                    return;
+                }
+
+                output.close();
+                output = null;
+                try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    for (Object row : FileSerde.readAll(reader).toIterable()) {
+                        consumer.accept((Map<String, Object>) row);
+                    }
+                } finally {
+                    Files.deleteIfExists(file);
+                    file = null;
+                }
+            }
+
+            @Override
+            public void close() throws IOException {
+                if (output != null) {
+                    output.close();
+                    output = null;
+                }
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                    file = null;
+                }
+            }
+        };
+    }
+
+    /**
+     * Splits {@code [from, to)} into {@code count} contiguous ranges of equal length, to the second; a range shorter
+     * than {@code count} seconds gets fewer slices.
+     */
+    static java.util.List<Slice> slices(Instant from, Instant to, int count) {
+        long seconds = Math.max(1, Duration.between(from, to).toSeconds());
+        int sliceCount = (int) Math.min(count, seconds);
+
+        java.util.List<Slice> slices = new ArrayList<>(sliceCount);
+        Instant start = from;
+        for (int i = 0; i < sliceCount; i++) {
+            Instant end = i == sliceCount - 1 ? to : from.plusSeconds(seconds * (i + 1) / sliceCount);
+            slices.add(new Slice(i, start, end));
+            start = end;
+        }
+        return slices;
+    }
+
+    record Slice(int index, Instant from, Instant to) {
+        String description() {
+            return "events from " + from + " to " + to;
+        }
+    }
+}
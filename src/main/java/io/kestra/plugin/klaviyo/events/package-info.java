@@ -0,0 +1,10 @@
+@PluginSubGroup(
+    title = "Events",
+    description = "Tasks for sending Klaviyo events in bulk.", categories = {
+        PluginSubGroup.PluginCategory.AI,
+        PluginSubGroup.PluginCategory.BUSINESS
+    }
+)
+package io.kestra.plugin.klaviyo.events;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
@@ -0,0 +1,231 @@
+package io.kestra.plugin.klaviyo.jobs;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.ErrorMode;
+import io.kestra.plugin.klaviyo.campaign.Get;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Trigger on campaign or send job status changes",
+    description = "Polls many campaigns or campaign send jobs from one trigger and starts an execution whenever at least one of them changes status. " +
+        "The last seen status of each ID is kept in the namespace KV store, so unchanged IDs never fire twice. " +
+        "The first poll only records this baseline without starting an execution; IDs added to the trigger later count as a change when first seen. " +
+        "Watching `campaignIds` costs one listing request per 100 campaigns and channel, while `jobIds` needs one request per job."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Start a flow when campaigns are sent",
+            full = true,
+            code = """
+                id: klaviyo_campaign_sent
+                namespace: company.team
+
+                tasks:
+                  - id: log_changes
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.changes }}"
+
+                triggers:
+                  - id: campaign_status
+                    type: io.kestra.plugin.klaviyo.jobs.Trigger
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    interval: PT1M
+                    campaignIds:
+                      - "campaign_id_1"
+                      - "campaign_id_2"
+                    statuses:
+                      - Sent
+                """
+        )
+    }
+)
+public class Trigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<Trigger.Output> {
+    private static final int BATCH_SIZE = 100;
+
+    @Schema(title = "Klaviyo private API Key", description = "Klaviyo Private API Key sent as `Klaviyo-API-Key`; keep secret.")
+    @NotNull
+    @PluginProperty(group = "main", secret = true)
+    protected Property<String> apiKey;
+
+    @Schema(title = "Base URL", description = "Klaviyo API base URL; defaults to `https://a.klaviyo.com/api`.")
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    protected Property<String> baseUrl = Property.ofValue("https://a.klaviyo.com/api");
+
+    @Schema(title = "Campaign IDs", description = "Campaigns whose `status` is watched, looked up by batches of 100 IDs; a campaign send job shares the ID of its campaign.")
+    @PluginProperty(group = "main")
+    protected Property<List<String>> campaignIds;
+
+    @Schema(title = "Send job IDs", description = "Campaign send jobs whose `status` is watched, one request per job; ignored when `campaignIds` is set.")
+    @PluginProperty(group = "main")
+    protected Property<List<String>> jobIds;
+
+    @Schema(title = "Statuses", description = "Only start an execution when an ID changes to one of these statuses, compared case-insensitively; any change fires when empty.")
+    @PluginProperty(group = "main")
+    protected Property<List<String>> statuses;
+
+    @Schema(title = "Polling interval")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    private final Duration interval = Duration.ofMinutes(1);
+
+    @Override
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+        Logger logger = runContext.logger();
+
+        List<String> rStatuses = runContext.render(this.statuses).asList(String.class).stream()
+            .map(status -> status.toLowerCase(Locale.ROOT))
+            .toList();
+
+        AbstractKlaviyoTask.Output output = poll(runContext);
+
+        KVStore kvStore = runContext.namespaceKv(context.getNamespace());
+        String key = stateKey(context);
+        Optional<Object> state = kvStore.getValue(key)
+            .map(KVValue::value)
+            .filter(Map.class::isInstance);
+        // without a previous state, this poll is the baseline the next ones are compared to
+        boolean baseline = state.isEmpty();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> lastSeen = state
+            .map(value -> new HashMap<String, Object>((Map<String, Object>) value))
+            .orElseGet(HashMap::new);
+
+        boolean updated = false;
+        for (Map<String, Object> error : output.getErrors()) {
+            String id = (String) error.get("id");
+            if (Objects.equals(error.get("status"), 404)) {
+                logger.warn("{} no longer exists and is no longer watched", id);
+                updated |= lastSeen.remove(id) != null;
+            } else {
+                logger.warn("Failed to poll {}, keeping its last seen status: {}", id, error.get("body"));
+            }
+        }
+
+        List<Map<String, Object>> changes = new ArrayList<>();
+        for (Map<String, Object> resource : output.getRows()) {
+            String id = (String) resource.get("id");
+            String status = resource.get("attributes") instanceof Map<?, ?> attributes && attributes.get("status") != null
+                ? attributes.get("status").toString()
+                : null;
+            boolean seen = lastSeen.containsKey(id);
+            Object previousStatus = lastSeen.put(id, status);
+
+            if (seen && Objects.equals(previousStatus, status)) {
+                continue;
+            }
+            updated = true;
+
+            if (!baseline && (rStatuses.isEmpty() || (status != null && rStatuses.contains(status.toLowerCase(Locale.ROOT))))) {
+                Map<String, Object> change = new LinkedHashMap<>();
+                change.put("id", id);
+                change.put("previousStatus", previousStatus);
+                change.put("status", status);
+                change.put("resource", resource);
+                changes.add(change);
+            }
+        }
+
+        if (updated) {
+            kvStore.put(key, new KVValueAndMetadata(new KVMetadata("Last seen Klaviyo statuses of trigger " + context.getTriggerId(), (Duration) null), lastSeen));
+        }
+
+        if (changes.isEmpty()) {
+            return Optional.empty();
+        }
+
+        logger.info("{} status change(s) detected", changes.size());
+
+        Output triggerOutput = Output.builder()
+            .size(changes.size())
+            .changes(changes)
+            .build();
+
+        return Optional.of(TriggerService.generateExecution(this, conditionContext, context, triggerOutput));
+    }
+
+    private AbstractKlaviyoTask.Output poll(RunContext runContext) throws Exception {
+        if (this.campaignIds != null) {
+            return Get.builder()
+                .id(this.id)
+                .type(Get.class.getName())
+                .apiKey(this.apiKey)
+                .baseUrl(this.baseUrl)
+                .campaignIds(this.campaignIds)
+                .batchSize(Property.ofValue(BATCH_SIZE))
+                .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+                .fetchType(Property.ofValue(FetchType.FETCH))
+                .build()
+                .run(runContext);
+        }
+
+        if (this.jobIds != null) {
+            return GetSendJob.builder()
+                .id(this.id)
+                .type(GetSendJob.class.getName())
+                .apiKey(this.apiKey)
+                .baseUrl(this.baseUrl)
+                .jobIds(this.jobIds)
+                .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+                .fetchType(Property.ofValue(FetchType.FETCH))
+                .build()
+                .run(runContext);
+        }
+
+        throw new IllegalArgumentException("One of `campaignIds` or `jobIds` must be set");
+    }
+
+    private static String stateKey(TriggerContext context) {
+        return "klaviyo_trigger_" + context.getFlowId() + "_" + context.getTriggerId();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Number of status changes")
+        private final Integer size;
+
+        @Schema(title = "Status changes", description = "One entry per changed ID with `id`, `previousStatus`, `status` and the full `resource`.")
+        private final List<Map<String, Object>> changes;
+    }
+}
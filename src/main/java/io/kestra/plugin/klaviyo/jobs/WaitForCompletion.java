@@ -0,0 +1,194 @@
+package io.kestra.plugin.klaviyo.jobs;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.KlaviyoClient;
+import io.kestra.plugin.klaviyo.RateLimitTier;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+@Schema(
+    title = "Wait for Klaviyo jobs to complete",
+    description = "Polls campaign send jobs, recipient estimation jobs or profile bulk import jobs, up to `concurrency` at a time, until each reaches a terminal status or the timeout is hit. " +
+        "Each job is polled with its own exponential backoff and is no longer polled once terminal; the output holds the last state of each job in input order."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Wait for campaign send jobs to finish",
+            full = true,
+            code = """
+                id: klaviyo_wait_for_send_jobs
+                namespace: company.team
+
+                tasks:
+                  - id: wait_for_send_jobs
+                    type: io.kestra.plugin.klaviyo.jobs.WaitForCompletion
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    jobType: SEND
+                    jobIds:
+                      - "job_id_1"
+                      - "job_id_2"
+                    timeout: PT2H
+                """
+        )
+    }
+)
+public class WaitForCompletion extends AbstractKlaviyoTask implements RunnableTask<WaitForCompletion.Output> {
+
+    @Schema(title = "Job IDs", description = "IDs of the jobs to wait for; order is preserved.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<List<String>> jobIds;
+
+    @Schema(title = "Job type", description = "Kind of jobs to poll: campaign send jobs, campaign recipient estimation jobs or profile bulk import jobs.")
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<JobType> jobType = Property.ofValue(JobType.SEND);
+
+    @Schema(title = "Terminal statuses", description = "A job is done once its status equals one of these values, or starts with one of them followed by `:`.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<List<String>> terminalStatuses = Property.ofValue(List.of("complete", "cancelled", "failed"));
+
+    @Schema(title = "Initial polling interval", description = "Delay before the second poll of a job; it doubles after each poll up to `maxInterval`.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> initialInterval = Property.ofValue(Duration.ofSeconds(2));
+
+    @Schema(title = "Maximum polling interval")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> maxInterval = Property.ofValue(Duration.ofMinutes(1));
+
+    @Schema(title = "Timeout", description = "Maximum time to wait; jobs still running at that point are listed in `pendingJobIds`.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> timeout = Property.ofValue(Duration.ofHours(1));
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        List<String> rJobIds = runContext.render(this.jobIds).asList(String.class);
+        JobType rJobType = runContext.render(this.jobType).as(JobType.class).orElseThrow();
+        List<String> rTerminalStatuses = runContext.render(this.terminalStatuses).asList(String.class);
+        Duration rInitialInterval = runContext.render(this.initialInterval).as(Duration.class).orElse(Duration.ofSeconds(2));
+        Duration rMaxInterval = runContext.render(this.maxInterval).as(Duration.class).orElse(Duration.ofMinutes(1));
+        Instant deadline = Instant.now().plus(runContext.render(this.timeout).as(Duration.class).orElse(Duration.ofHours(1)));
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+        int rConcurrency = concurrency(runContext);
+        Set<String> rAttributes = attributes(runContext);
+
+        List<String> pendingJobIds = new ArrayList<>();
+
+        try (KlaviyoClient client = client(runContext)) {
+            AbstractKlaviyoTask.Output output = applyFetchStrategy(rFetchType, consumer -> fetchInOrder(
+                rJobIds,
+                rConcurrency,
+                jobId -> {
+                    Duration interval = rInitialInterval;
+                    while (true) {
+                        Map<String, Object> job = client.fetchData(rJobType.path(jobId), RateLimitTier.M, rJobType.description(jobId), rAttributes);
+
+                        if (job == null || isTerminal(job, rTerminalStatuses) || Instant.now().plus(interval).isAfter(deadline)) {
+                            return job == null ? List.of() : List.of(job);
+                        }
+
+                        Thread.sleep(interval.toMillis());
+                        interval = interval.multipliedBy(2).compareTo(rMaxInterval) > 0 ? rMaxInterval : interval.multipliedBy(2);
+                    }
+                },
+                job -> {
+                    if (!isTerminal(job, rTerminalStatuses)) {
+                        pendingJobIds.add((String) job.get("id"));
+                    }
+                    consumer.accept(job);
+                }
+            ), runContext);
+
+            if (pendingJobIds.isEmpty()) {
+                logger.info("All {} job(s) reached a terminal status", output.getSize());
+            } else {
+                logger.warn("Timed out with {} job(s) still running: {}", pendingJobIds.size(), pendingJobIds);
+            }
+
+            return Output.builder()
+                .size(output.getSize())
+                .row(output.getRow())
+                .rows(output.getRows())
+                .uri(output.getUri())
+                .pendingJobIds(pendingJobIds)
+                .build();
+        }
+    }
+
+    private static boolean isTerminal(Map<String, Object> job, List<String> terminalStatuses) {
+        if (!(job.get("attributes") instanceof Map<?, ?> attributes) || attributes.get("status") == null) {
+            return false;
+        }
+
+        String status = attributes.get("status").toString().toLowerCase(Locale.ROOT);
+        return terminalStatuses.stream()
+            .map(terminal -> terminal.toLowerCase(Locale.ROOT))
+            .anyMatch(terminal -> status.equals(terminal) || status.startsWith(terminal + ":"));
+    }
+
+    public enum JobType {
+        SEND("/campaign-send-jobs/", "send job "),
+        RECIPIENT_ESTIMATION("/campaign-recipient-estimation-jobs/", "recipient estimation job "),
+        PROFILE_BULK_IMPORT("/profile-bulk-import-jobs/", "profile bulk import job ");
+
+        private final String path;
+        private final String description;
+
+        JobType(String path, String description) {
+            this.path = path;
+            this.description = description;
+        }
+
+        private String path(String jobId) {
+            return path + jobId;
+        }
+
+        private String description(String jobId) {
+            return description + jobId;
+        }
+    }
+
+    @SuperBuilder
+    @Getter
+    public static class Output extends AbstractKlaviyoTask.Output {
+        @Schema(title = "IDs of the jobs that had not reached a terminal status when the timeout was hit")
+        private final List<String> pendingJobIds;
+    }
+}
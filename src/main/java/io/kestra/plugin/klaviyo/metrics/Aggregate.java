@@ -0,0 +1,334 @@
+package io.kestra.plugin.klaviyo.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.JsonApiDecoder;
+import io.kestra.plugin.klaviyo.KlaviyoClient;
+import io.kestra.plugin.klaviyo.RateLimitTier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+@Schema(
+    title = "Query metric aggregates",
+    description = "Queries the aggregates of a metric over a date range and returns them as a table: one row per date and dimension group, with one column per dimension and per measurement. " +
+        "A range longer than `maxRangePerQuery` is split into consecutive queries, optionally further split per value of a dimension, which run concurrently within the endpoint rate limits; rows are output in query order, range by range, then split value by split value."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Daily opened email counts per message over a year",
+            full = true,
+            code = """
+                id: klaviyo_opened_email
+                namespace: company.team
+
+                tasks:
+                  - id: aggregate
+                    type: io.kestra.plugin.klaviyo.metrics.Aggregate
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    metricId: "METRIC_ID"
+                    measurements:
+                      - count
+                      - unique
+                    interval: day
+                    by:
+                      - $message
+                    startDate: "2024-01-01"
+                    endDate: "2025-01-01"
+                    fetchType: STORE
+                """
+        ),
+        @Example(
+            title = "Revenue per flow, one query per flow",
+            full = true,
+            code = """
+                id: klaviyo_revenue_per_flow
+                namespace: company.team
+
+                tasks:
+                  - id: aggregate
+                    type: io.kestra.plugin.klaviyo.metrics.Aggregate
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    metricId: "PLACED_ORDER_METRIC_ID"
+                    measurements:
+                      - sum_value
+                    interval: month
+                    startDate: "2024-01-01"
+                    endDate: "2025-01-01"
+                    splitBy: $attributed_flow
+                    splitValues:
+                      - "FLOW_ID_1"
+                      - "FLOW_ID_2"
+                """
+        )
+    }
+)
+public class Aggregate extends AbstractKlaviyoTask implements RunnableTask<Aggregate.Output> {
+    private static final String DATE = "date";
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final Map<String, ChronoUnit> INTERVALS = Map.of(
+        "hour", ChronoUnit.HOURS,
+        "day", ChronoUnit.DAYS,
+        "week", ChronoUnit.WEEKS,
+        "month", ChronoUnit.MONTHS
+    );
+
+    @Schema(title = "Metric ID")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> metricId;
+
+    @Schema(title = "Measurements", description = "Aggregations to compute, such as `count`, `unique` or `sum_value`; each becomes a column.")
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<List<String>> measurements = Property.ofValue(List.of("count"));
+
+    @Schema(title = "Interval", description = "Bucket size of the aggregates: `hour`, `day`, `week` or `month`.")
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<String> interval = Property.ofValue("day");
+
+    @Schema(title = "Dimensions", description = "Dimensions to group by, such as `$message` or `$attributed_flow`; each becomes a column.")
+    @PluginProperty(group = "main")
+    protected Property<List<String>> by;
+
+    @Schema(title = "Start date", description = "Start of the range, inclusive, as an ISO 8601 date-time or a date taken at midnight UTC.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> startDate;
+
+    @Schema(title = "End date", description = "End of the range, exclusive, as an ISO 8601 date-time or a date taken at midnight UTC.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> endDate;
+
+    @Schema(title = "Filters", description = "Additional filter expressions, such as `equals($message,\"MESSAGE_ID\")`, applied to every query.")
+    @PluginProperty(group = "main")
+    protected Property<List<String>> filter;
+
+    @Schema(title = "Timezone", description = "Timezone the intervals are computed in.")
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<String> timezone = Property.ofValue("UTC");
+
+    @Schema(
+        title = "Maximum range per query",
+        description = "The range is split into consecutive queries spanning at most this duration, to stay under the query limits. Queries are split on whole intervals counted from the start date in `timezone`, so a bucket is never split across queries; " +
+            "an interval longer than this duration, such as a 31-day month, is still queried whole."
+    )
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> maxRangePerQuery = Property.ofValue(Duration.ofDays(30));
+
+    @Schema(
+        title = "Split dimension",
+        description = "Dimension to split each query on: one query is run per value of `splitValues`, filtered with `equals(<splitBy>,\"<value>\")`, and the value is set in a column named after the dimension."
+    )
+    @PluginProperty(group = "execution")
+    protected Property<String> splitBy;
+
+    @Schema(title = "Split values", description = "Values of `splitBy` to query.")
+    @PluginProperty(group = "execution")
+    protected Property<List<String>> splitValues;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        String rMetricId = runContext.render(this.metricId).as(String.class).orElseThrow();
+        List<String> rMeasurements = runContext.render(this.measurements).asList(String.class);
+        String rInterval = runContext.render(this.interval).as(String.class).orElse("day");
+        List<String> rBy = runContext.render(this.by).asList(String.class);
+        Instant rStartDate = dateTime(runContext.render(this.startDate).as(String.class).orElseThrow());
+        Instant rEndDate = dateTime(runContext.render(this.endDate).as(String.class).orElseThrow());
+        List<String> rFilter = runContext.render(this.filter).asList(String.class);
+        String rTimezone = runContext.render(this.timezone).as(String.class).orElse("UTC");
+        Duration rMaxRange = runContext.render(this.maxRangePerQuery).as(Duration.class).orElse(Duration.ofDays(30));
+        String rSplitBy = runContext.render(this.splitBy).as(String.class).orElse(null);
+        List<String> rSplitValues = runContext.render(this.splitValues).asList(String.class);
+        int rConcurrency = concurrency(runContext);
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+
+        if (!rEndDate.isAfter(rStartDate)) {
+            throw new IllegalArgumentException("The end date " + rEndDate + " must be after the start date " + rStartDate);
+        }
+        if (rSplitBy != null && rSplitValues.isEmpty()) {
+            throw new IllegalArgumentException("`splitValues` must list the values of `" + rSplitBy + "` to query");
+        }
+
+        ChronoUnit intervalUnit = INTERVALS.get(rInterval);
+        if (intervalUnit == null) {
+            throw new IllegalArgumentException("Unsupported interval `" + rInterval + "`, expected one of `hour`, `day`, `week` or `month`");
+        }
+
+        List<Query> queries = queries(rStartDate, rEndDate, rMaxRange, intervalUnit, ZoneId.of(rTimezone), rSplitBy == null ? List.of() : rSplitValues);
+
+        try (KlaviyoClient client = client(runContext)) {
+            AbstractKlaviyoTask.Output output = applyFetchStrategy(
+                rFetchType,
+                consumer -> fetchInOrder(
+                    queries,
+                    rConcurrency,
+                    query -> {
+                        List<String> filters = new ArrayList<>();
+                        filters.add("greater-or-equal(datetime," + query.from() + ")");
+                        filters.add("less-than(datetime," + query.to() + ")");
+                        filters.addAll(rFilter);
+                        if (query.splitValue() != null) {
+                            filters.add("equals(" + rSplitBy + ",\"" + query.splitValue() + "\")");
+                        }
+
+                        Map<String, Object> attributes = new LinkedHashMap<>();
+                        attributes.put("metric_id", rMetricId);
+                        attributes.put("measurements", rMeasurements);
+                        attributes.put("interval", rInterval);
+                        attributes.put("filter", filters);
+                        attributes.put("timezone", rTimezone);
+                        if (!rBy.isEmpty()) {
+                            attributes.put("by", rBy);
+                        }
+                        byte[] document = MAPPER.writeValueAsBytes(Map.of("data", Map.of("type", "metric-aggregate", "attributes", attributes)));
+
+                        List<Map<String, Object>> rows = new ArrayList<>();
+                        String next = "/metric-aggregates";
+                        while (next != null) {
+                            JsonApiDecoder.Document page = client.postPage(next, RateLimitTier.S, query.description(rMetricId), document);
+                            if (page == null) {
+                                break;
+                            }
+
+                            for (Map<String, Object> aggregate : page.data()) {
+                                rows.addAll(rows(aggregate, rBy, rMeasurements, rSplitBy, query.splitValue()));
+                            }
+                            next = page.next();
+                        }
+                        return rows;
+                    },
+                    consumer
+                ),
+                runContext
+            );
+
+            logger.info("Aggregated metric {} into {} row(s) with {} query(ies)", rMetricId, output.getSize(), queries.size());
+
+            return Output.builder()
+                .size(output.getSize())
+                .row(output.getRow())
+                .rows(output.getRows())
+                .uri(output.getUri())
+                .queryCount(queries.size())
+                .build();
+        }
+    }
+
+    /**
+     * Splits {@code [from, to)} into consecutive ranges of at most {@code maxRange}, each queried once per split value.
+     * Ranges end on whole intervals counted from {@code from} in {@code zone}, stepping calendar units so that days
+     * follow daylight saving changes and months their length; a range holds at least one interval.
+     */
+    static List<Query> queries(Instant from, Instant to, Duration maxRange, ChronoUnit interval, ZoneId zone, List<String> splitValues) {
+        ZonedDateTime origin = from.atZone(zone);
+        List<Query> queries = new ArrayList<>();
+
+        long intervals = 0;
+        for (Instant start = from; start.isBefore(to); ) {
+            Instant limit = start.plus(maxRange);
+            long last = intervals + 1;
+            while (origin.plus(last, interval).toInstant().isBefore(to) && !origin.plus(last + 1, interval).toInstant().isAfter(limit)) {
+                last++;
+            }
+
+            Instant boundary = origin.plus(last, interval).toInstant();
+            Instant end = boundary.isAfter(to) ? to : boundary;
+            if (splitValues.isEmpty()) {
+                queries.add(new Query(start, end, null));
+            } else {
+                for (String splitValue : splitValues) {
+                    queries.add(new Query(start, end, splitValue));
+                }
+            }
+
+            intervals = last;
+            start = end;
+        }
+        return queries;
+    }
+
+    /**
+     * Flattens a metric aggregate, holding one series per dimension group, into one row per date and group.
+     */
+    private static List<Map<String, Object>> rows(Map<String, Object> aggregate, List<String> by, List<String> measurements, String splitBy, String splitValue) {
+        if (aggregate == null || !(aggregate.get("attributes") instanceof Map<?, ?> attributes)
+            || !(attributes.get("dates") instanceof List<?> dates) || !(attributes.get("data") instanceof List<?> groups)) {
+            return List.of();
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (int i = 0; i < dates.size(); i++) {
+            for (Object group : groups) {
+                Map<?, ?> series = (Map<?, ?>) group;
+                List<?> dimensions = series.get("dimensions") instanceof List<?> list ? list : List.of();
+                Map<?, ?> values = series.get("measurements") instanceof Map<?, ?> map ? map : Map.of();
+
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put(DATE, dates.get(i));
+                if (splitBy != null && !by.contains(splitBy)) {
+                    row.put(splitBy, splitValue);
+                }
+                for (int d = 0; d < by.size(); d++) {
+                    row.put(by.get(d), d < dimensions.size() ? dimensions.get(d) : null);
+                }
+                for (String measurement : measurements) {
+                    row.put(measurement, values.get(measurement) instanceof List<?> measured && i < measured.size() ? measured.get(i) : null);
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    record Query(Instant from, Instant to, String splitValue) {
+        String description(String metricId) {
+            return "aggregates of metric " + metricId + " from " + from + " to " + to + (splitValue == null ? "" : " for " + splitValue);
+        }
+    }
+
+    @SuperBuilder
+    @Getter
+    public static class Output extends AbstractKlaviyoTask.Output {
+        @Schema(title = "Number of aggregate queries run")
+        private final Integer queryCount;
+    }
+}
@@ -0,0 +1,10 @@
+@PluginSubGroup(
+    title = "Metrics",
+    description = "Tasks for querying Klaviyo metric aggregates.", categories = {
+        PluginSubGroup.PluginCategory.AI,
+        PluginSubGroup.PluginCategory.BUSINESS
+    }
+)
+package io.kestra.plugin.klaviyo.metrics;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
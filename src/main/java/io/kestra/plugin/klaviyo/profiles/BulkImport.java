@@ -0,0 +1,269 @@
+package io.kestra.plugin.klaviyo.profiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.BatchIterator;
+import io.kestra.plugin.klaviyo.FileFormat;
+import io.kestra.plugin.klaviyo.KlaviyoClient;
+import io.kestra.plugin.klaviyo.RateLimitTier;
+import io.kestra.plugin.klaviyo.Records;
+import io.kestra.plugin.klaviyo.jobs.WaitForCompletion;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+@Schema(
+    title = "Import profiles in bulk",
+    description = "Streams profiles from an ION or CSV file in internal storage into Klaviyo profile bulk import jobs, each as large as Klaviyo allows (10,000 profiles or 5 MB). " +
+        "Jobs are submitted concurrently within the endpoint rate limits and, unless `wait` is disabled, polled until they complete; the output holds one row per job."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Import the profiles of a CSV file into a list and wait for the jobs",
+            full = true,
+            code = """
+                id: klaviyo_import_profiles
+                namespace: company.team
+
+                inputs:
+                  - id: profiles
+                    type: FILE
+
+                tasks:
+                  - id: import_profiles
+                    type: io.kestra.plugin.klaviyo.profiles.BulkImport
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    from: "{{ inputs.profiles }}"
+                    format: CSV
+                    listIds:
+                      - "list_id"
+                    timeout: PT2H
+                """
+        ),
+        @Example(
+            title = "Submit the profiles produced by a previous task without waiting",
+            full = true,
+            code = """
+                id: klaviyo_submit_profiles
+                namespace: company.team
+
+                tasks:
+                  - id: import_profiles
+                    type: io.kestra.plugin.klaviyo.profiles.BulkImport
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    from: "{{ outputs.extract.uri }}"
+                    wait: false
+                """
+        )
+    }
+)
+public class BulkImport extends AbstractKlaviyoTask implements RunnableTask<BulkImport.Output> {
+    private static final int MAX_PROFILES_PER_JOB = 10_000;
+    private static final long MAX_BYTES_PER_JOB = 5L * 1024 * 1024;
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(
+        title = "Profiles file",
+        description = "Internal storage URI of the profiles to import, read as a stream. Each record holds the profile attributes (`email`, `phone_number`, `first_name`, `properties`, ...), or a JSON:API profile with `attributes` and an optional `id`. " +
+            "In a CSV file, dotted column names such as `location.city` or `properties.plan` build nested attributes and empty cells are ignored."
+    )
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> from;
+
+    @Schema(title = "File format")
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<FileFormat> format = Property.ofValue(FileFormat.ION);
+
+    @Schema(title = "List IDs", description = "Lists to add every imported profile to.")
+    @PluginProperty(group = "main")
+    protected Property<List<String>> listIds;
+
+    @Schema(title = "Maximum profiles per job", description = "Caps the profiles of a single job, up to the Klaviyo maximum of 10,000; a job is also closed before it exceeds 5 MB.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> maxProfilesPerJob = Property.ofValue(MAX_PROFILES_PER_JOB);
+
+    @Schema(title = "Wait for the jobs", description = "Poll the submitted jobs until they complete, fail or `timeout` is hit; otherwise the output holds the jobs as submitted.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Boolean> wait = Property.ofValue(true);
+
+    @Schema(title = "Initial polling interval", description = "Delay before the second poll of a job; it doubles after each poll up to `maxInterval`.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> initialInterval = Property.ofValue(Duration.ofSeconds(2));
+
+    @Schema(title = "Maximum polling interval")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> maxInterval = Property.ofValue(Duration.ofMinutes(1));
+
+    @Schema(title = "Timeout", description = "Maximum time to wait for the jobs; jobs still running at that point are listed in `pendingJobIds`.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Duration> timeout = Property.ofValue(Duration.ofHours(1));
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        URI rFrom = URI.create(runContext.render(this.from).as(String.class).orElseThrow());
+        FileFormat rFormat = runContext.render(this.format).as(FileFormat.class).orElse(FileFormat.ION);
+        List<String> rListIds = runContext.render(this.listIds).asList(String.class);
+        int rMaxProfiles = Math.clamp(runContext.render(this.maxProfilesPerJob).as(Integer.class).orElse(MAX_PROFILES_PER_JOB), 1, MAX_PROFILES_PER_JOB);
+        int rConcurrency = concurrency(runContext);
+        boolean rWait = runContext.render(this.wait).as(Boolean.class).orElse(true);
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+
+        byte[] prefix = "{\"data\":{\"type\":\"profile-bulk-import-job\",\"attributes\":{\"profiles\":{\"data\":[".getBytes(StandardCharsets.UTF_8);
+        byte[] suffix = ("]}}" + relationships(rListIds) + "}}").getBytes(StandardCharsets.UTF_8);
+
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        AtomicLong profileCount = new AtomicLong();
+
+        try (KlaviyoClient client = client(runContext); Stream<Map<String, Object>> records = Records.read(runContext, rFrom, rFormat)) {
+            fetchInOrder(
+                () -> new BatchIterator(records.iterator(), BulkImport::profile, prefix, suffix, rMaxProfiles, MAX_BYTES_PER_JOB),
+                rConcurrency,
+                batch -> {
+                    Map<String, Object> job = client.submit("/profile-bulk-import-jobs", RateLimitTier.M, "profile bulk import job of " + batch.count() + " profile(s)", batch.document());
+                    profileCount.addAndGet(batch.count());
+                    return job == null ? List.of() : List.of(job);
+                },
+                jobs::add
+            );
+        }
+
+        List<String> jobIds = jobs.stream().map(job -> (String) job.get("id")).toList();
+        logger.info("Submitted {} profile(s) in {} bulk import job(s)", profileCount.get(), jobIds.size());
+
+        List<String> pendingJobIds = List.of();
+        if (rWait && !jobIds.isEmpty()) {
+            WaitForCompletion.Output waited = waitForCompletion(jobIds).run(runContext);
+            jobs = waited.getRows();
+            pendingJobIds = waited.getPendingJobIds();
+        }
+
+        AbstractKlaviyoTask.Output output = applyFetchStrategy(rFetchType, jobs, runContext);
+
+        return Output.builder()
+            .size(output.getSize())
+            .row(output.getRow())
+            .rows(output.getRows())
+            .uri(output.getUri())
+            .jobIds(jobIds)
+            .profileCount(profileCount.get())
+            .failedCount(rWait ? jobs.stream().mapToLong(job -> count(job, "failed_count")).sum() : null)
+            .pendingJobIds(pendingJobIds)
+            .build();
+    }
+
+    /**
+     * Polls the jobs with the connection, retry and polling settings of this task; job rows are few, so they are
+     * always fetched and the fetch strategy of this task is applied afterwards.
+     */
+    private WaitForCompletion waitForCompletion(List<String> jobIds) {
+        return WaitForCompletion.builder()
+            .id(this.id)
+            .type(WaitForCompletion.class.getName())
+            .apiKey(this.apiKey)
+            .baseUrl(this.baseUrl)
+            .concurrency(this.concurrency)
+            .maxAttempts(this.maxAttempts)
+            .initialBackoff(this.initialBackoff)
+            .maxBackoff(this.maxBackoff)
+            .retryBudget(this.retryBudget)
+            .attributes(this.attributes)
+            .jobIds(Property.ofValue(jobIds))
+            .jobType(Property.ofValue(WaitForCompletion.JobType.PROFILE_BULK_IMPORT))
+            .initialInterval(this.initialInterval)
+            .maxInterval(this.maxInterval)
+            .timeout(this.timeout)
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+    }
+
+    private static byte[] profile(Map<String, Object> record) throws IOException {
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("type", "profile");
+        if (record.get("attributes") instanceof Map<?, ?> attributes) {
+            if (record.get("id") != null) {
+                profile.put("id", record.get("id"));
+            }
+            profile.put("attributes", attributes);
+        } else {
+            profile.put("attributes", record);
+        }
+
+        return MAPPER.writeValueAsBytes(profile);
+    }
+
+    private static String relationships(List<String> listIds) throws IOException {
+        if (listIds.isEmpty()) {
+            return "";
+        }
+
+        List<Map<String, Object>> lists = listIds.stream()
+            .map(listId -> Map.<String, Object>of("type", "list", "id", listId))
+            .toList();
+
+        return ",\"relationships\":" + MAPPER.writeValueAsString(Map.of("lists", Map.of("data", lists)));
+    }
+
+    private static long count(Map<String, Object> job, String attribute) {
+        return job.get("attributes") instanceof Map<?, ?> attributes && attributes.get(attribute) instanceof Number number
+            ? number.longValue()
+            : 0L;
+    }
+
+    @SuperBuilder
+    @Getter
+    public static class Output extends AbstractKlaviyoTask.Output {
+        @Schema(title = "IDs of the submitted bulk import jobs, in file order")
+        private final List<String> jobIds;
+
+        @Schema(title = "Number of profiles submitted")
+        private final Long profileCount;
+
+        @Schema(title = "Number of profiles the jobs failed to import", description = "Sum of the jobs `failed_count`; only set when waiting for the jobs.")
+        private final Long failedCount;
+
+        @Schema(title = "IDs of the jobs that had not completed when the timeout was hit")
+        private final List<String> pendingJobIds;
+    }
+}
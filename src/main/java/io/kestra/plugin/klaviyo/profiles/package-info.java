@@ -0,0 +1,10 @@
+@PluginSubGroup(
+    title = "Profiles",
+    description = "Tasks for importing Klaviyo profiles in bulk.", categories = {
+        PluginSubGroup.PluginCategory.AI,
+        PluginSubGroup.PluginCategory.BUSINESS
+    }
+)
+package io.kestra.plugin.klaviyo.profiles;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
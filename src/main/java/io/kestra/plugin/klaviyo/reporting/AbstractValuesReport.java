@@ -0,0 +1,158 @@
+package io.kestra.plugin.klaviyo.reporting;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.JsonApiDecoder;
+import io.kestra.plugin.klaviyo.KlaviyoClient;
+import io.kestra.plugin.klaviyo.RateLimitTier;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Values reports of campaigns or flows: the IDs are grouped into {@code contains-any} filters of up to
+ * {@link #MAX_BATCH_SIZE} IDs, so a report needs one query per batch rather than one per ID.
+ */
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractValuesReport extends AbstractKlaviyoTask {
+    protected static final int MAX_BATCH_SIZE = 100;
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    @Schema(title = "Statistics", description = "Statistics to report, such as `recipients`, `delivered`, `opens_unique`, `clicks_unique`, `conversions` or `conversion_value`; each becomes a column.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<List<String>> statistics;
+
+    @Schema(title = "Conversion metric ID", description = "Metric the conversion statistics are computed on, such as Placed Order.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<String> conversionMetricId;
+
+    @Schema(
+        title = "Timeframe",
+        description = "Predefined timeframe key, such as `last_30_days`, `last_12_months` or `this_year`; ignored when `startDate` and `endDate` are set."
+    )
+    @Builder.Default
+    @PluginProperty(group = "main")
+    protected Property<String> timeframe = Property.ofValue("last_12_months");
+
+    @Schema(title = "Start date", description = "Start of a custom timeframe, as an ISO 8601 date-time or a date taken at midnight UTC; requires `endDate`.")
+    @PluginProperty(group = "main")
+    protected Property<String> startDate;
+
+    @Schema(title = "End date", description = "End of a custom timeframe, as an ISO 8601 date-time or a date taken at midnight UTC; requires `startDate`.")
+    @PluginProperty(group = "main")
+    protected Property<String> endDate;
+
+    @Schema(title = "Filter", description = "Additional filter expression, such as `equals(send_channel,\"email\")`, combined with the ID filter of each query.")
+    @PluginProperty(group = "main")
+    protected Property<String> filter;
+
+    @Schema(title = "Batch size", description = "Number of IDs per report query, up to 100; fewer queries matter as the reporting endpoints allow only a few requests per minute.")
+    @Builder.Default
+    @PluginProperty(group = "execution")
+    protected Property<Integer> batchSize = Property.ofValue(MAX_BATCH_SIZE);
+
+    /**
+     * Runs one report query per batch of IDs, one after the other within the reporting rate limit, following the
+     * pages of each; every result is flattened into a row of its groupings and statistics and handed to the fetch
+     * strategy as soon as its page is read.
+     *
+     * @param type JSON:API type of the report, such as {@code campaign-values-report}
+     * @param idField grouping field the IDs are filtered on, such as {@code campaign_id}
+     */
+    protected Output report(RunContext runContext, List<String> ids, String type, String path, String idField) throws Exception {
+        List<String> rStatistics = runContext.render(this.statistics).asList(String.class);
+        String rConversionMetricId = runContext.render(this.conversionMetricId).as(String.class).orElseThrow();
+        Map<String, Object> rTimeframe = timeframe(runContext);
+        String rFilter = runContext.render(this.filter).as(String.class).orElse(null);
+        int rBatchSize = Math.clamp(runContext.render(this.batchSize).as(Integer.class).orElse(MAX_BATCH_SIZE), 1, MAX_BATCH_SIZE);
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+
+        List<List<String>> batches = partition(ids.stream().distinct().toList(), rBatchSize);
+        runContext.logger().debug("Reporting on {} ID(s) with {} query(ies)", ids.size(), batches.size());
+
+        try (KlaviyoClient client = client(runContext)) {
+            return applyFetchStrategy(rFetchType, consumer -> {
+                for (List<String> batch : batches) {
+                    String idFilter = "contains-any(" + idField + "," + MAPPER.writeValueAsString(batch) + ")";
+
+                    Map<String, Object> attributes = new LinkedHashMap<>();
+                    attributes.put("statistics", rStatistics);
+                    attributes.put("timeframe", rTimeframe);
+                    attributes.put("conversion_metric_id", rConversionMetricId);
+                    attributes.put("filter", rFilter == null ? idFilter : rFilter + "," + idFilter);
+                    byte[] document = MAPPER.writeValueAsBytes(Map.of("data", Map.of("type", type, "attributes", attributes)));
+
+                    String description = type + " of " + batch.size() + " ID(s)";
+                    String next = path;
+                    while (next != null) {
+                        JsonApiDecoder.Document page = client.postPage(next, RateLimitTier.REPORTING, description, document);
+                        if (page == null) {
+                            break;
+                        }
+
+                        for (Map<String, Object> report : page.data()) {
+                            for (Map<String, Object> row : rows(report)) {
+                                consumer.accept(row);
+                            }
+                        }
+                        next = page.next();
+                    }
+                }
+            }, runContext);
+        }
+    }
+
+    private Map<String, Object> timeframe(RunContext runContext) throws Exception {
+        String rStartDate = runContext.render(this.startDate).as(String.class).orElse(null);
+        String rEndDate = runContext.render(this.endDate).as(String.class).orElse(null);
+
+        if (rStartDate == null && rEndDate == null) {
+            return Map.of("key", runContext.render(this.timeframe).as(String.class).orElse("last_12_months"));
+        }
+        if (rStartDate == null || rEndDate == null) {
+            throw new IllegalArgumentException("A custom timeframe needs both `startDate` and `endDate`");
+        }
+
+        return Map.of("start", dateTime(rStartDate).toString(), "end", dateTime(rEndDate).toString());
+    }
+
+    /**
+     * Flattens each result of a report, holding {@code groupings} and {@code statistics}, into a single row.
+     */
+    private static List<Map<String, Object>> rows(Map<String, Object> report) {
+        if (!(report.get("attributes") instanceof Map<?, ?> attributes) || !(attributes.get("results") instanceof List<?> results)) {
+            return List.of();
+        }
+
+        return results.stream()
+            .filter(Map.class::isInstance)
+            .map(result -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                if (((Map<?, ?>) result).get("groupings") instanceof Map<?, ?> groupings) {
+                    groupings.forEach((name, value) -> row.put(String.valueOf(name), value));
+                }
+                if (((Map<?, ?>) result).get("statistics") instanceof Map<?, ?> statistics) {
+                    statistics.forEach((name, value) -> row.put(String.valueOf(name), value));
+                }
+                return row;
+            })
+            .toList();
+    }
+}
@@ -0,0 +1,84 @@
+package io.kestra.plugin.klaviyo.reporting;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+@Schema(
+    title = "Report campaign performance",
+    description = "Queries the campaign values report for the actual performance of campaigns, such as deliveries, opens, clicks and conversions, unlike the estimates of `campaign.GetRecipientCount`. " +
+        "Campaign IDs are grouped into as few report queries as possible and every page is followed; each row holds the groupings (`campaign_id`, `campaign_message_id`, `send_channel`) and the requested statistics, and STORE streams the rows to the file page by page."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Store the performance of sent campaigns over the last 30 days",
+            full = true,
+            code = """
+                id: klaviyo_campaign_values
+                namespace: company.team
+
+                tasks:
+                  - id: list_campaigns
+                    type: io.kestra.plugin.klaviyo.campaign.List
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    filter: "equals(status,'Sent')"
+                    attributes:
+                      - name
+
+                  - id: campaign_values
+                    type: io.kestra.plugin.klaviyo.reporting.CampaignValues
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    campaignIds: "{{ outputs.list_campaigns.rows | jq('.[].id') }}"
+                    statistics:
+                      - delivered
+                      - opens_unique
+                      - clicks_unique
+                      - conversion_value
+                    conversionMetricId: "PLACED_ORDER_METRIC_ID"
+                    timeframe: last_30_days
+                    fetchType: STORE
+                """
+        )
+    }
+)
+public class CampaignValues extends AbstractValuesReport implements RunnableTask<AbstractKlaviyoTask.Output> {
+
+    @Schema(title = "Campaign IDs", description = "Campaigns to report on; duplicates are queried once.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<List<String>> campaignIds;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        List<String> rCampaignIds = runContext.render(this.campaignIds).asList(String.class);
+
+        Output output = report(runContext, rCampaignIds, "campaign-values-report", "/campaign-values-reports", "campaign_id");
+        logger.info("Successfully reported {} row(s) for {} campaign(s)", output.getSize(), rCampaignIds.size());
+
+        return output;
+    }
+}
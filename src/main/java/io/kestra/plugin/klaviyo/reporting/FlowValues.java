@@ -0,0 +1,83 @@
+package io.kestra.plugin.klaviyo.reporting;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@NoArgsConstructor
+@Getter
+@ToString
+@EqualsAndHashCode
+@Schema(
+    title = "Report flow performance",
+    description = "Queries the flow values report for the actual performance of flows, such as deliveries, opens, clicks and conversions. " +
+        "Flow IDs are grouped into as few report queries as possible and every page is followed; each row holds the groupings (`flow_id`, `flow_message_id`, `send_channel`) and the requested statistics, and STORE streams the rows to the file page by page."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Weekly revenue attributed to flows",
+            full = true,
+            code = """
+                id: klaviyo_flow_values
+                namespace: company.team
+
+                tasks:
+                  - id: flow_values
+                    type: io.kestra.plugin.klaviyo.reporting.FlowValues
+                    apiKey: "{{ secret('KLAVIYO_API_KEY') }}"
+                    flowIds:
+                      - "FLOW_ID_1"
+                      - "FLOW_ID_2"
+                    statistics:
+                      - recipients
+                      - conversions
+                      - conversion_value
+                    conversionMetricId: "PLACED_ORDER_METRIC_ID"
+                    timeframe: last_7_days
+                    fetchType: STORE
+
+                triggers:
+                  - id: weekly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 6 * * 1"
+                """
+        )
+    }
+)
+public class FlowValues extends AbstractValuesReport implements RunnableTask<AbstractKlaviyoTask.Output> {
+
+    @Schema(title = "Flow IDs", description = "Flows to report on; duplicates are queried once.")
+    @NotNull
+    @PluginProperty(group = "main")
+    protected Property<List<String>> flowIds;
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Logger logger = runContext.logger();
+
+        List<String> rFlowIds = runContext.render(this.flowIds).asList(String.class);
+
+        Output output = report(runContext, rFlowIds, "flow-values-report", "/flow-values-reports", "flow_id");
+        logger.info("Successfully reported {} row(s) for {} flow(s)", output.getSize(), rFlowIds.size());
+
+        return output;
+    }
+}
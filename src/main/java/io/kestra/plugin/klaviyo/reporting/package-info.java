@@ -0,0 +1,10 @@
+@PluginSubGroup(
+    title = "Reporting",
+    description = "Tasks for querying Klaviyo campaign and flow performance reports.", categories = {
+        PluginSubGroup.PluginCategory.AI,
+        PluginSubGroup.PluginCategory.BUSINESS
+    }
+)
+package io.kestra.plugin.klaviyo.reporting;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
@@ -0,0 +1,198 @@
+package io.kestra.plugin.klaviyo;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.reactivestreams.Publisher;
+
+import io.micronaut.http.HttpRequest;
+import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.MutableHttpResponse;
+import io.micronaut.http.annotation.Filter;
+import io.micronaut.http.filter.HttpServerFilter;
+import io.micronaut.http.filter.ServerFilterChain;
+import lombok.Builder;
+import lombok.Getter;
+import reactor.core.publisher.Mono;
+
+/**
+ * Turns {@link MockKlaviyoServer} into a simulator of real API conditions: log-normal latency, per-endpoint rate
+ * limits answered with {@code 429} and the {@code RateLimit-*} headers, random {@code 503} and padded payloads.
+ * Disabled until {@link #simulate(Simulation)} is called; tests using it must {@link #reset()} it afterwards.
+ */
+@Filter("/api/**")
+public class KlaviyoSimulator implements HttpServerFilter {
+    private volatile Simulation simulation;
+    private volatile Random random = new Random();
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final AtomicInteger throttled = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public void simulate(Simulation simulation) {
+        reset();
+        this.random = new Random(simulation.getSeed());
+        this.simulation = simulation;
+    }
+
+    public void reset() {
+        simulation = null;
+        windows.clear();
+        throttled.set(0);
+        failed.set(0);
+    }
+
+    /**
+     * @return the number of requests answered with a simulated {@code 429}
+     */
+    public int throttled() {
+        return throttled.get();
+    }
+
+    /**
+     * @return the number of requests answered with a simulated {@code 503}
+     */
+    public int failed() {
+        return failed.get();
+    }
+
+    @Override
+    public Publisher<MutableHttpResponse<?>> doFilter(HttpRequest<?> request, ServerFilterChain chain) {
+        Simulation current = simulation;
+        if (current == null) {
+            return chain.proceed(request);
+        }
+
+        Duration latency = current.latency(random);
+        String endpoint = RequestMetrics.endpoint(request.getPath().substring("/api".length()));
+
+        Window window = windows.computeIfAbsent(endpoint, e -> new Window());
+        Window.Decision decision = window.acquire(current.getRequestsPerSecond());
+        if (!decision.allowed()) {
+            throttled.incrementAndGet();
+            return Mono.delay(latency).map(tick -> rateLimitHeaders(
+                HttpResponse.<Object>status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header("Retry-After", String.valueOf(decision.resetSeconds()))
+                    .body("""
+                        {"errors": [{"status": 429, "code": "throttled", "title": "Request was throttled."}]}
+                        """),
+                current, decision
+            ));
+        }
+
+        if (random.nextDouble() < current.getErrorRate()) {
+            failed.incrementAndGet();
+            return Mono.delay(latency).<MutableHttpResponse<?>>map(tick -> HttpResponse.<Object>status(HttpStatus.SERVICE_UNAVAILABLE).body("""
+                {"errors": [{"status": 503, "code": "service_unavailable", "title": "Service unavailable."}]}
+                """));
+        }
+
+        return Mono.delay(latency)
+            .then(Mono.from(chain.proceed(request)))
+            .map(response -> {
+                if (response.status().getCode() == 200) {
+                    rateLimitHeaders(response, current, decision);
+                    pad(response, current.getPaddingBytes());
+                }
+                return response;
+            });
+    }
+
+    private static MutableHttpResponse<?> rateLimitHeaders(MutableHttpResponse<?> response, Simulation simulation, Window.Decision decision) {
+        if (simulation.getRequestsPerSecond() > 0) {
+            response.getHeaders().set("RateLimit-Limit", String.valueOf(simulation.getRequestsPerSecond()));
+            response.getHeaders().set("RateLimit-Remaining", String.valueOf(decision.remaining()));
+            response.getHeaders().set("RateLimit-Reset", String.valueOf(decision.resetSeconds()));
+        }
+        return response;
+    }
+
+    /**
+     * Adds a top-level {@code meta} member of {@code bytes} characters, which JSON:API clients ignore.
+     */
+    @SuppressWarnings("unchecked")
+    private static void pad(MutableHttpResponse<?> response, int bytes) {
+        if (bytes <= 0 || !(response.body() instanceof String body) || !body.stripLeading().startsWith("{")) {
+            return;
+        }
+
+        String content = body.stripLeading().substring(1);
+        ((MutableHttpResponse<Object>) response).body("{\"meta\": {\"padding\": \"" + "x".repeat(bytes) + "\"}," + content);
+    }
+
+    @Getter
+    @Builder
+    public static class Simulation {
+        /**
+         * Median latency added to each request; zero for none.
+         */
+        @Builder.Default
+        private final Duration latencyMedian = Duration.ZERO;
+
+        /**
+         * Spread of the log-normal latency distribution, {@code 0} for a constant latency.
+         */
+        @Builder.Default
+        private final double latencySigma = 0.5;
+
+        /**
+         * Requests allowed per endpoint and second, {@code 0} for no limit.
+         */
+        @Builder.Default
+        private final int requestsPerSecond = 0;
+
+        /**
+         * Probability of answering a request with a {@code 503}.
+         */
+        @Builder.Default
+        private final double errorRate = 0.0;
+
+        /**
+         * Characters added to each successful JSON body.
+         */
+        @Builder.Default
+        private final int paddingBytes = 0;
+
+        @Builder.Default
+        private final long seed = 42L;
+
+        Duration latency(Random random) {
+            if (latencyMedian.isZero()) {
+                return Duration.ZERO;
+            }
+            double factor = Math.exp(latencySigma * random.nextGaussian());
+            return Duration.ofNanos((long) (latencyMedian.toNanos() * factor));
+        }
+    }
+
+    /**
+     * Fixed one-second window counting the requests of an endpoint.
+     */
+    private static class Window {
+        private long start = System.nanoTime();
+        private int count;
+
+        synchronized Decision acquire(int limit) {
+            long now = System.nanoTime();
+            if (now - start >= 1_000_000_000L) {
+                start = now;
+                count = 0;
+            }
+
+            long resetSeconds = Math.max(1L, (long) Math.ceil((start + 1_000_000_000L - now) / 1e9));
+            if (limit > 0 && count >= limit) {
+                return new Decision(false, 0, resetSeconds);
+            }
+
+            count++;
+            return new Decision(true, limit > 0 ? limit - count : Integer.MAX_VALUE, resetSeconds);
+        }
+
+        record Decision(boolean allowed, int remaining, long resetSeconds) {
+        }
+    }
+}
@@ -0,0 +1,454 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.klaviyo.campaign.Get;
+import io.kestra.plugin.klaviyo.campaign.GetRecipientCount;
+import io.kestra.plugin.klaviyo.campaign.messages.GetCampaign;
+import io.kestra.plugin.klaviyo.campaign.messages.GetImages;
+import io.kestra.plugin.klaviyo.events.BulkCreate;
+import io.kestra.plugin.klaviyo.jobs.GetRecipient;
+import io.kestra.plugin.klaviyo.jobs.GetSendJob;
+import io.kestra.plugin.klaviyo.jobs.WaitForCompletion;
+import io.kestra.plugin.klaviyo.metrics.Aggregate;
+import io.kestra.plugin.klaviyo.profiles.BulkImport;
+import io.kestra.plugin.klaviyo.reporting.CampaignValues;
+import io.kestra.plugin.klaviyo.reporting.FlowValues;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * End-to-end throughput of the tasks against {@link KlaviyoSimulator}: variable latency, a per-endpoint rate limit
+ * below the client's burst, random 503 and padded payloads. Every task must complete with all its rows, in order and
+ * without a single failed input, despite the throttling and failures; the throughput and the number of simulated 429
+ * and 503 responses are logged for comparison.
+ * <p>
+ * Tagged {@code load} and run by the {@code loadTest} Gradle task rather than {@code test}, as the reporting endpoints
+ * only allow a couple of requests per minute.
+ */
+@KestraTest
+@Tag("load")
+class LoadTest extends AbstractKlaviyoTest {
+    private static final int ID_COUNT = 40;
+    private static final int REPORT_ID_COUNT = 4;
+
+    @Inject
+    private KlaviyoSimulator simulator;
+
+    private RunContext runContext;
+
+    @BeforeEach
+    void simulate() {
+        runContext = runContextFactory.of();
+        simulator.simulate(simulation().build());
+    }
+
+    private static KlaviyoSimulator.Simulation.SimulationBuilder simulation() {
+        return KlaviyoSimulator.Simulation.builder()
+            .latencyMedian(Duration.ofMillis(30))
+            .latencySigma(0.6)
+            .requestsPerSecond(8)
+            .errorRate(0.05)
+            .paddingBytes(16 * 1024);
+    }
+
+    @AfterEach
+    void reset() {
+        simulator.reset();
+    }
+
+    @Test
+    void campaignGet() throws Exception {
+        List<String> ids = ids("load-campaign-");
+
+        AbstractKlaviyoTask.Output output = measure("campaign.Get", () -> Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(8))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("id")).toList(), is(ids));
+    }
+
+    @Test
+    void campaignGetInBatches() throws Exception {
+        List<String> ids = ids("load-batched-campaign-");
+
+        AbstractKlaviyoTask.Output output = measure("campaign.Get (batchSize: 10)", () -> Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(ids))
+            .batchSize(Property.ofValue(10))
+            .concurrency(Property.ofValue(4))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("id")).toList(), is(ids));
+    }
+
+    @Test
+    void campaignGetRecipientCount() throws Exception {
+        List<String> ids = ids("load-estimated-campaign-");
+
+        AbstractKlaviyoTask.Output output = measure("campaign.GetRecipientCount", () -> GetRecipientCount.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(8))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("id")).toList(), is(ids));
+    }
+
+    @Test
+    void campaignList() throws Exception {
+        AbstractKlaviyoTask.Output output = measure("campaign.List", () -> io.kestra.plugin.klaviyo.campaign.List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getSize(), is((long) MockKlaviyoServer.CATALOG_SIZE));
+    }
+
+    @Test
+    void messagesGet() throws Exception {
+        List<String> ids = ids("load-message-");
+
+        AbstractKlaviyoTask.Output output = measure("campaign.messages.Get", () -> io.kestra.plugin.klaviyo.campaign.messages.Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .messageIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(8))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getSize(), is((long) ID_COUNT));
+    }
+
+    @Test
+    void messagesGetCampaign() throws Exception {
+        List<String> ids = ids("load-message-campaign-");
+
+        AbstractKlaviyoTask.Output output = measure("campaign.messages.GetCampaign", () -> GetCampaign.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .messageIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(8))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("id")).toList(), is(ids.stream().map(id -> "campaign_" + id).toList()));
+    }
+
+    @Test
+    void messagesGetImages() throws Exception {
+        List<String> ids = ids("load-message-image-");
+
+        AbstractKlaviyoTask.Output output = measure("campaign.messages.GetImages", () -> GetImages.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .messageIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(8))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("id")).toList(), is(ids.stream().map(id -> "image_" + id).toList()));
+    }
+
+    @Test
+    void messagesList() throws Exception {
+        List<String> ids = ids("load-listed-campaign-").subList(0, 10);
+
+        AbstractKlaviyoTask.Output output = measure("campaign.messages.List", () -> io.kestra.plugin.klaviyo.campaign.messages.List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(4))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(
+            output.getRows().stream().map(row -> row.get("id")).toList(),
+            is(ids.stream().flatMap(id -> IntStream.rangeClosed(1, MockKlaviyoServer.MESSAGES_PER_CAMPAIGN).mapToObj(i -> id + "-message-" + i)).toList())
+        );
+    }
+
+    @Test
+    void jobsGetRecipient() throws Exception {
+        List<String> ids = ids("load-recipient-job-");
+
+        AbstractKlaviyoTask.Output output = measure("jobs.GetRecipient", () -> GetRecipient.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .jobIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(8))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("id")).toList(), is(ids));
+    }
+
+    @Test
+    void sendJobs() throws Exception {
+        List<String> ids = ids("load-job-");
+
+        AbstractKlaviyoTask.Output output = measure("jobs.GetSendJob", () -> GetSendJob.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .jobIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(8))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("id")).toList(), is(ids));
+    }
+
+    @Test
+    void jobsWaitForCompletion() throws Exception {
+        List<String> ids = ids(MockKlaviyoServer.PROCESSING_PREFIX + "load-job-");
+
+        WaitForCompletion.Output output = measure("jobs.WaitForCompletion", () -> WaitForCompletion.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .jobIds(Property.ofValue(ids))
+            .concurrency(Property.ofValue(8))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .initialInterval(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getPendingJobIds(), is(empty()));
+        assertThat(output.getRows().stream().map(row -> row.get("id")).toList(), is(ids));
+    }
+
+    @Test
+    void profilesBulkImport() throws Exception {
+        // job submissions are not retried on a 503, which may come after Klaviyo accepted the job
+        simulator.simulate(simulation().errorRate(0).build());
+        URI uri = file(i -> Map.of("email", "load-user" + i + "@example.com"));
+
+        BulkImport.Output output = measure("profiles.BulkImport", () -> BulkImport.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .maxProfilesPerJob(Property.ofValue(10))
+            .concurrency(Property.ofValue(4))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .initialInterval(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getProfileCount(), is((long) ID_COUNT));
+        assertThat(output.getJobIds(), hasSize(ID_COUNT / 10));
+    }
+
+    @Test
+    void eventsBulkCreate() throws Exception {
+        // batches are not retried on a 503, which may come after Klaviyo accepted them
+        simulator.simulate(simulation().errorRate(0).build());
+        URI uri = file(i -> Map.of(
+            "metric", "Load Test",
+            "profile", Map.of("email", "load-user" + i + "@example.com"),
+            "properties", Map.of("order_id", "order-" + i)
+        ));
+
+        BulkCreate.Output output = measure("events.BulkCreate", () -> BulkCreate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .maxEventsPerBatch(Property.ofValue(5))
+            .concurrency(Property.ofValue(4))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getEventCount(), is((long) ID_COUNT));
+        assertThat(output.getFailedEventCount(), is(0L));
+    }
+
+    @Test
+    void eventsList() throws Exception {
+        AbstractKlaviyoTask.Output output = measure("events.List", () -> io.kestra.plugin.klaviyo.events.List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .startDate(Property.ofValue(MockKlaviyoServer.EVENTS_START))
+            .endDate(Property.ofValue("2024-01-03T00:00:00Z"))
+            .slices(Property.ofValue(4))
+            .concurrency(Property.ofValue(4))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(
+            output.getRows().stream().map(row -> row.get("id")).toList(),
+            is(IntStream.range(0, MockKlaviyoServer.EVENT_CATALOG_SIZE).mapToObj(i -> String.format("event-%03d", i)).toList())
+        );
+    }
+
+    @Test
+    void metricsAggregate() throws Exception {
+        Aggregate.Output output = measure("metrics.Aggregate", () -> Aggregate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .metricId(Property.ofValue("load-metric"))
+            .by(Property.ofValue(List.of("$message")))
+            .startDate(Property.ofValue("2024-01-01"))
+            .endDate(Property.ofValue("2024-03-01"))
+            .concurrency(Property.ofValue(2))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getSize(), is(60L * 2));
+    }
+
+    @Test
+    void reportingCampaignValues() throws Exception {
+        List<String> ids = ids("load-report-campaign-").subList(0, REPORT_ID_COUNT);
+
+        AbstractKlaviyoTask.Output output = measure("reporting.CampaignValues", () -> CampaignValues.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(ids))
+            .statistics(Property.ofValue(List.of("opens_unique")))
+            .conversionMetricId(Property.ofValue("metric-placed-order"))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("campaign_id")).toList(), is(ids));
+    }
+
+    @Test
+    void reportingFlowValues() throws Exception {
+        List<String> ids = ids("load-report-flow-").subList(0, REPORT_ID_COUNT);
+
+        AbstractKlaviyoTask.Output output = measure("reporting.FlowValues", () -> FlowValues.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .flowIds(Property.ofValue(ids))
+            .statistics(Property.ofValue(List.of("conversions")))
+            .conversionMetricId(Property.ofValue("metric-placed-order"))
+            .startDate(Property.ofValue("2024-01-01"))
+            .endDate(Property.ofValue("2024-02-01"))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build()
+            .run(runContext)
+        );
+
+        assertThat(output.getRows().stream().map(row -> row.get("flow_id")).toList(), is(ids));
+    }
+
+    /**
+     * Runs the task, logs its throughput and asserts that no input failed, which in {@code CONTINUE} error mode would
+     * otherwise only show in {@code errors}.
+     */
+    private <T extends AbstractKlaviyoTask.Output> T measure(String task, Callable<T> run) throws Exception {
+        long start = System.nanoTime();
+        T output = run.call();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        runContext.logger().info(
+            "{}: {} row(s) in {} s, {} rows/s, {} throttled and {} failed response(s)",
+            task, output.getSize(), String.format("%.2f", seconds), String.format("%.1f", output.getSize() / seconds),
+            simulator.throttled(), simulator.failed()
+        );
+
+        assertThat(task + " errors", output.getErrors() == null ? List.of() : output.getErrors(), is(empty()));
+        assertThat(task + " rows", output.getSize(), greaterThan(0L));
+
+        return output;
+    }
+
+    private URI file(IntFunction<Map<String, Object>> record) throws Exception {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            for (int i = 1; i <= ID_COUNT; i++) {
+                FileSerde.write(output, record.apply(i));
+            }
+        }
+        return runContext.storage().putFile(file);
+    }
+
+    private static List<String> ids(String prefix) {
+        return IntStream.rangeClosed(1, ID_COUNT).mapToObj(i -> String.format("%s%03d", prefix, i)).toList();
+    }
+}
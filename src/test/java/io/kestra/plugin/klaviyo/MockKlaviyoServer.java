@@ -1,19 +1,203 @@
 package io.kestra.plugin.klaviyo;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import io.micronaut.core.annotation.Nullable;
+import io.micronaut.http.HttpRequest;
 import io.micronaut.http.HttpResponse;
+import io.micronaut.http.HttpStatus;
+import io.micronaut.http.annotation.Body;
 import io.micronaut.http.annotation.Controller;
 import io.micronaut.http.annotation.Get;
 import io.micronaut.http.annotation.Header;
+import io.micronaut.http.annotation.Post;
 
 @Controller("/api")
 public class MockKlaviyoServer {
+    /**
+     * IDs starting with this prefix are answered with a 429 and {@code Retry-After} the first time they are requested.
+     */
+    public static final String THROTTLED_PREFIX = "throttled-";
+
+    /**
+     * IDs starting with this prefix are answered with a 503 the first time they are requested.
+     */
+    public static final String UNAVAILABLE_PREFIX = "unavailable-";
+
+    /**
+     * IDs starting with this prefix are always answered with a 503.
+     */
+    public static final String FAILING_PREFIX = "failing-";
+
+    /**
+     * IDs starting with this prefix are SMS campaigns when listing campaigns.
+     */
+    public static final String SMS_PREFIX = "sms-";
+
+    /**
+     * IDs starting with this prefix are never found when listing campaigns, nor when fetching the image of a message.
+     */
+    public static final String MISSING_PREFIX = "missing-";
+
+    /**
+     * IDs starting with this prefix are {@code Sending} the first time they are listed, then {@code Sent}.
+     */
+    public static final String SENDING_PREFIX = "sending-";
+
+    public static final int PAGE_SIZE = 2;
+
+    /**
+     * Number of campaigns per channel returned when listing campaigns without an ID filter.
+     */
+    public static final int CATALOG_SIZE = 5;
+
+    /**
+     * Number of messages of each campaign.
+     */
+    public static final int MESSAGES_PER_CAMPAIGN = 3;
+
+    /**
+     * Number of events, one per hour from {@link #EVENTS_START}, returned when listing events.
+     */
+    public static final int EVENT_CATALOG_SIZE = 48;
+
+    public static final String EVENTS_START = "2024-01-01T00:00:00Z";
+
+    /**
+     * Longest range, in days, of a metric aggregate query; longer ones are answered with a 400.
+     */
+    public static final int MAX_AGGREGATE_DAYS = 31;
+
+    /**
+     * Metric aggregates of metric IDs starting with this prefix are served one dimension group per page.
+     */
+    public static final String PAGED_PREFIX = "paged-";
+
+    private static final Pattern CHANNEL_FILTER = Pattern.compile("equals\\(messages\\.channel,'(\\w+)'\\)");
+    private static final Pattern ID_FILTER = Pattern.compile("any\\(id,\\[([^\\]]*)\\]\\)");
+    private static final Pattern UPDATED_AFTER_FILTER = Pattern.compile("greater-than\\(updated_at,([^)]+)\\)");
+    private static final Pattern DATETIME_FROM_FILTER = Pattern.compile("greater-or-equal\\(datetime,([^)]+)\\)");
+    private static final Pattern CONTAINS_ANY_FILTER = Pattern.compile("contains-any\\((\\w+),(\\[[^\\]]*\\])\\)");
+    private static final Pattern DATETIME_TO_FILTER = Pattern.compile("less-than\\(datetime,([^)]+)\\)");
+
+    /**
+     * Send jobs whose ID starts with this prefix are {@code processing} for their first {@link #PROCESSING_POLLS} polls.
+     */
+    public static final String PROCESSING_PREFIX = "processing-";
+
+    public static final int PROCESSING_POLLS = 2;
+
+    /**
+     * Send jobs whose ID starts with this prefix never complete.
+     */
+    public static final String STUCK_PREFIX = "stuck-";
+
+    private final Map<String, Integer> sendJobPolls = new ConcurrentHashMap<>();
+    private final Set<String> throttledOnce = ConcurrentHashMap.newKeySet();
+    private final Set<String> unavailableOnce = ConcurrentHashMap.newKeySet();
+    private final Set<String> sendingOnce = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger campaignListRequests = new AtomicInteger();
+    private final Map<String, Integer> campaignRequests = new ConcurrentHashMap<>();
+    private final Map<String, String> catalogUpdatedAt = new ConcurrentHashMap<>();
+    private final AtomicInteger profileImportJobSequence = new AtomicInteger();
+    private final Map<String, Map<String, Object>> profileImportJobs = new ConcurrentHashMap<>();
+    private final Map<String, Integer> profileImportJobPolls = new ConcurrentHashMap<>();
+    private final List<List<Map<String, Object>>> eventBatches = new CopyOnWriteArrayList<>();
+    private final AtomicInteger eventListRequests = new AtomicInteger();
+    private final Map<String, AtomicInteger> aggregateQueries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> reportRequests = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    @Get(value = "/campaigns", produces = "application/vnd.api+json")
+    public HttpResponse<String> listCampaigns(HttpRequest<?> request, @Header("Authorization") String auth) throws Exception {
+        if (!auth.startsWith("Klaviyo-API-Key")) {
+            return HttpResponse.unauthorized();
+        }
+
+        campaignListRequests.incrementAndGet();
+
+        String filter = request.getParameters().get("filter");
+        Matcher channelMatcher = filter == null ? null : CHANNEL_FILTER.matcher(filter);
+        if (channelMatcher == null || !channelMatcher.find()) {
+            return HttpResponse.<String>badRequest().body("""
+                {"errors": [{"status": 400, "code": "invalid", "title": "A channel filter is required."}]}
+                """);
+        }
+        String channel = channelMatcher.group(1);
+
+        List<Map<String, Object>> campaigns = new ArrayList<>();
+        Matcher idMatcher = ID_FILTER.matcher(filter);
+        if (idMatcher.find()) {
+            List<String> ids = Arrays.stream(idMatcher.group(1).split(",")).map(id -> id.replace("\"", "").trim()).toList();
+            if (ids.stream().anyMatch(id -> id.startsWith(UNAVAILABLE_PREFIX) && unavailableOnce.add(id))) {
+                return HttpResponse.<String>status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body("""
+                        {"errors": [{"status": 503, "code": "service_unavailable", "title": "Service unavailable."}]}
+                        """);
+            }
+
+            ids.stream()
+                .filter(id -> !id.startsWith(MISSING_PREFIX))
+                .filter(id -> id.startsWith(SMS_PREFIX) == channel.equals("sms"))
+                .forEach(id -> campaigns.add(campaign(id, channel, status(id))));
+        } else {
+            Matcher updatedAfterMatcher = UPDATED_AFTER_FILTER.matcher(filter);
+            OffsetDateTime updatedAfter = updatedAfterMatcher.find() ? OffsetDateTime.parse(updatedAfterMatcher.group(1)) : null;
+            String fields = request.getParameters().get("fields[campaign]");
+
+            for (int i = 1; i <= CATALOG_SIZE; i++) {
+                String id = String.format("%s-campaign-%03d", channel, i);
+                String updatedAt = catalogUpdatedAt.getOrDefault(id, String.format("2024-01-%02dT00:00:00+00:00", i));
+                if (updatedAfter == null || OffsetDateTime.parse(updatedAt).isAfter(updatedAfter)) {
+                    Map<String, Object> campaign = campaign(id, channel);
+                    Map<String, Object> attributes = (Map<String, Object>) campaign.get("attributes");
+                    attributes.put("updated_at", updatedAt);
+                    if (fields != null) {
+                        attributes.keySet().retainAll(List.of(fields.split(",")));
+                    }
+                    campaigns.add(campaign);
+                }
+            }
+        }
+
+        return ok(page(campaigns, request, "/campaigns?filter=" + URLEncoder.encode(filter, StandardCharsets.UTF_8)));
+    }
 
     @Get(value = "/campaigns/{id}", produces = "application/vnd.api+json")
-    public HttpResponse<String> getCampaign(String id, @Header("Authorization") String auth) {
+    public HttpResponse<String> getCampaign(String id, @Header("Authorization") String auth, @Nullable @Header("If-None-Match") String ifNoneMatch) {
         if (!auth.startsWith("Klaviyo-API-Key")) {
             return HttpResponse.unauthorized();
         }
 
+        campaignRequests.merge(id, 1, Integer::sum);
+
+        if (id.startsWith(THROTTLED_PREFIX) && throttledOnce.add(id)) {
+            return HttpResponse.<String>status(HttpStatus.TOO_MANY_REQUESTS)
+                .header("RateLimit-Limit", "10")
+                .header("RateLimit-Remaining", "0")
+                .header("RateLimit-Reset", "1")
+                .header("Retry-After", "1")
+                .body("""
+                    {"errors": [{"status": 429, "code": "throttled", "title": "Request was throttled."}]}
+                    """);
+        }
+
         String response = String.format("""
             {
               "data": {
@@ -27,7 +211,12 @@ public class MockKlaviyoServer {
               }
             }
             """, id);
-        return HttpResponse.ok(response);
+
+        String etag = "\"" + id + "-v1\"";
+        if (etag.equals(ifNoneMatch)) {
+            return HttpResponse.<String>status(HttpStatus.NOT_MODIFIED).header("ETag", etag);
+        }
+        return ok(response).header("ETag", etag);
     }
 
     @Get(value = "/campaign-recipient-estimations/{id}", produces = "application/vnd.api+json")
@@ -47,7 +236,7 @@ public class MockKlaviyoServer {
               }
             }
             """, id);
-        return HttpResponse.ok(response);
+        return ok(response);
     }
 
     @Get(value = "/campaign-send-jobs/{id}", produces = "application/vnd.api+json")
@@ -56,18 +245,28 @@ public class MockKlaviyoServer {
             return HttpResponse.unauthorized();
         }
 
+        if (id.startsWith(FAILING_PREFIX) || (id.startsWith(UNAVAILABLE_PREFIX) && unavailableOnce.add(id))) {
+            return HttpResponse.<String>status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("""
+                    {"errors": [{"status": 503, "code": "service_unavailable", "title": "Service unavailable."}]}
+                    """);
+        }
+
+        int polls = sendJobPolls.merge(id, 1, Integer::sum);
+        boolean processing = id.startsWith(STUCK_PREFIX) || (id.startsWith(PROCESSING_PREFIX) && polls <= PROCESSING_POLLS);
+
         String response = String.format("""
             {
               "data": {
                 "type": "campaign-send-job",
                 "id": "%s",
                 "attributes": {
-                  "status": "complete"
+                  "status": "%s"
                 }
               }
             }
-            """, id);
-        return HttpResponse.ok(response);
+            """, id, processing ? "processing" : "complete");
+        return ok(response);
     }
 
     @Get(value = "/campaign-recipient-estimation-jobs/{id}", produces = "application/vnd.api+json")
@@ -87,28 +286,261 @@ public class MockKlaviyoServer {
               }
             }
             """, id);
-        return HttpResponse.ok(response);
+        return ok(response);
     }
 
-    @Get(value = "/campaign-messages/{id}", produces = "application/vnd.api+json")
-    public HttpResponse<String> getMessage(String id, @Header("Authorization") String auth) {
+    /**
+     * Creates a profile bulk import job; a job adding profiles to a list whose ID starts with {@link #UNAVAILABLE_PREFIX}
+     * is created but answered with a 503 the first time, as when the connection fails after Klaviyo accepted it.
+     */
+    @Post(value = "/profile-bulk-import-jobs", consumes = "application/vnd.api+json", produces = "application/vnd.api+json")
+    @SuppressWarnings("unchecked")
+    public HttpResponse<String> createProfileImportJob(@Body String body, @Header("Authorization") String auth) throws Exception {
         if (!auth.startsWith("Klaviyo-API-Key")) {
             return HttpResponse.unauthorized();
         }
 
-        String response = String.format("""
-            {
-              "data": {
-                "type": "campaign-message",
-                "id": "%s",
-                "attributes": {
-                  "channel": "email",
-                  "label": "Test Message"
-                }
-              }
+        Map<String, Object> document = JacksonMapper.ofJson().readValue(body, Map.class);
+        String id = "profile-import-job-" + profileImportJobSequence.incrementAndGet();
+        profileImportJobs.put(id, document);
+
+        if (listIds(document).stream().anyMatch(listId -> listId.startsWith(UNAVAILABLE_PREFIX) && unavailableOnce.add(listId))) {
+            return HttpResponse.<String>status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("""
+                    {"errors": [{"status": 503, "code": "service_unavailable", "title": "Service unavailable."}]}
+                    """);
+        }
+
+        return HttpResponse.<String>status(HttpStatus.ACCEPTED)
+            .body(JacksonMapper.ofJson().writeValueAsString(Map.of("data", profileImportJob(id, "queued"))));
+    }
+
+    /**
+     * Lists the event catalog within the {@code datetime} filters, newest first unless sorted by {@code datetime}.
+     */
+    @Get(value = "/events", produces = "application/vnd.api+json")
+    public HttpResponse<String> listEvents(HttpRequest<?> request, @Header("Authorization") String auth) throws Exception {
+        if (!auth.startsWith("Klaviyo-API-Key")) {
+            return HttpResponse.unauthorized();
+        }
+
+        eventListRequests.incrementAndGet();
+
+        String filter = request.getParameters().get("filter");
+        String sort = request.getParameters().get("sort");
+        Matcher fromMatcher = filter == null ? null : DATETIME_FROM_FILTER.matcher(filter);
+        Matcher toMatcher = filter == null ? null : DATETIME_TO_FILTER.matcher(filter);
+        OffsetDateTime from = fromMatcher != null && fromMatcher.find() ? OffsetDateTime.parse(fromMatcher.group(1)) : null;
+        OffsetDateTime to = toMatcher != null && toMatcher.find() ? OffsetDateTime.parse(toMatcher.group(1)) : null;
+
+        List<Map<String, Object>> events = new ArrayList<>();
+        OffsetDateTime start = OffsetDateTime.parse(EVENTS_START);
+        for (int i = 0; i < EVENT_CATALOG_SIZE; i++) {
+            OffsetDateTime datetime = start.plusHours(i);
+            if ((from == null || !datetime.isBefore(from)) && (to == null || datetime.isBefore(to))) {
+                Map<String, Object> attributes = new LinkedHashMap<>();
+                attributes.put("datetime", datetime.toString());
+                attributes.put("timestamp", datetime.toEpochSecond());
+                attributes.put("event_properties", Map.of("index", i));
+
+                Map<String, Object> event = new LinkedHashMap<>();
+                event.put("type", "event");
+                event.put("id", String.format("event-%03d", i));
+                event.put("attributes", attributes);
+                events.add(event);
             }
-            """, id);
-        return HttpResponse.ok(response);
+        }
+        if (!"datetime".equals(sort)) {
+            Collections.reverse(events);
+        }
+
+        String path = "/events?filter=" + URLEncoder.encode(filter == null ? "" : filter, StandardCharsets.UTF_8) + (sort == null ? "" : "&sort=" + sort);
+        return ok(page(events, request, path));
+    }
+
+    /**
+     * Answers daily metric aggregates over the {@code datetime} filters: each day has a {@code count} of 1 and a
+     * {@code sum_value} of 10 per group, and grouping by {@code $message} yields the groups {@code message-a} and {@code message-b}.
+     * Groups are paginated for metric IDs starting with {@link #PAGED_PREFIX}.
+     */
+    @Post(value = "/metric-aggregates", consumes = "application/vnd.api+json", produces = "application/vnd.api+json")
+    @SuppressWarnings("unchecked")
+    public HttpResponse<String> queryMetricAggregates(@Body String body, HttpRequest<?> request, @Header("Authorization") String auth) throws Exception {
+        if (!auth.startsWith("Klaviyo-API-Key")) {
+            return HttpResponse.unauthorized();
+        }
+
+        Map<String, Object> attributes = (Map<String, Object>) ((Map<String, Object>) JacksonMapper.ofJson().readValue(body, Map.class).get("data")).get("attributes");
+        String metricId = (String) attributes.get("metric_id");
+        aggregateQueries.computeIfAbsent(metricId, key -> new AtomicInteger()).incrementAndGet();
+
+        String filter = String.join(",", (List<String>) attributes.get("filter"));
+        Matcher fromMatcher = DATETIME_FROM_FILTER.matcher(filter);
+        Matcher toMatcher = DATETIME_TO_FILTER.matcher(filter);
+        if (!fromMatcher.find() || !toMatcher.find()) {
+            return HttpResponse.<String>badRequest().body("""
+                {"errors": [{"status": 400, "code": "invalid", "title": "A datetime range is required."}]}
+                """);
+        }
+        OffsetDateTime from = OffsetDateTime.parse(fromMatcher.group(1));
+        OffsetDateTime to = OffsetDateTime.parse(toMatcher.group(1));
+        if (from.plusDays(MAX_AGGREGATE_DAYS).isBefore(to)) {
+            return HttpResponse.<String>badRequest().body("""
+                {"errors": [{"status": 400, "code": "invalid", "title": "The datetime range is too large."}]}
+                """);
+        }
+
+        List<String> dates = new ArrayList<>();
+        for (OffsetDateTime date = from; date.isBefore(to); date = date.plusDays(1)) {
+            dates.add(date.toString());
+        }
+
+        List<String> by = attributes.get("by") == null ? List.of() : (List<String>) attributes.get("by");
+        List<List<String>> groups = by.contains("$message") ? List.of(List.of("message-a"), List.of("message-b")) : List.of(List.of());
+
+        List<Map<String, Object>> data = new ArrayList<>();
+        for (List<String> dimensions : groups) {
+            Map<String, Object> measurements = new LinkedHashMap<>();
+            for (String measurement : (List<String>) attributes.get("measurements")) {
+                measurements.put(measurement, Collections.nCopies(dates.size(), measurement.equals("sum_value") ? 10.0 : 1));
+            }
+            data.add(Map.of("dimensions", dimensions, "measurements", measurements));
+        }
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        if (metricId.startsWith(PAGED_PREFIX)) {
+            int cursor = Integer.parseInt(request.getParameters().get("page_cursor", String.class, "0"));
+            data = data.subList(cursor, cursor + 1);
+            document.put("links", Collections.singletonMap("next", cursor + 1 < groups.size() ? "/metric-aggregates?page_cursor=" + (cursor + 1) : null));
+        }
+
+        Map<String, Object> aggregate = new LinkedHashMap<>();
+        aggregate.put("type", "metric-aggregate");
+        aggregate.put("id", metricId);
+        aggregate.put("attributes", Map.of("dates", dates, "data", data));
+        document.put("data", aggregate);
+        return ok(JacksonMapper.ofJson().writeValueAsString(document));
+    }
+
+    @Post(value = "/campaign-values-reports", consumes = "application/vnd.api+json", produces = "application/vnd.api+json")
+    public HttpResponse<String> campaignValuesReport(@Body String body, HttpRequest<?> request, @Header("Authorization") String auth) throws Exception {
+        return valuesReport("campaign-values-report", "campaign", body, request, auth);
+    }
+
+    @Post(value = "/flow-values-reports", consumes = "application/vnd.api+json", produces = "application/vnd.api+json")
+    public HttpResponse<String> flowValuesReport(@Body String body, HttpRequest<?> request, @Header("Authorization") String auth) throws Exception {
+        return valuesReport("flow-values-report", "flow", body, request, auth);
+    }
+
+    /**
+     * Accepts a batch of events, unless one of them has a metric name starting with {@link #FAILING_PREFIX}. A batch with
+     * a metric name starting with {@link #UNAVAILABLE_PREFIX} is accepted but answered with a 503 the first time.
+     */
+    @Post(value = "/event-bulk-create-jobs", consumes = "application/vnd.api+json", produces = "application/vnd.api+json")
+    @SuppressWarnings("unchecked")
+    public HttpResponse<String> createEvents(@Body String body, @Header("Authorization") String auth) throws Exception {
+        if (!auth.startsWith("Klaviyo-API-Key")) {
+            return HttpResponse.unauthorized();
+        }
+
+        Map<String, Object> data = (Map<String, Object>) JacksonMapper.ofJson().readValue(body, Map.class).get("data");
+        Map<String, Object> attributes = (Map<String, Object>) data.get("attributes");
+        List<Map<String, Object>> entries = (List<Map<String, Object>>) ((Map<String, Object>) attributes.get("events-bulk-create")).get("data");
+
+        if (entries.stream().anyMatch(entry -> metricName(entry).startsWith(FAILING_PREFIX))) {
+            return HttpResponse.<String>badRequest()
+                .body("""
+                    {"errors": [{"status": 400, "code": "invalid", "title": "Invalid input."}]}
+                    """);
+        }
+
+        eventBatches.add(entries);
+        if (entries.stream().map(MockKlaviyoServer::metricName).anyMatch(metric -> metric.startsWith(UNAVAILABLE_PREFIX) && unavailableOnce.add(metric))) {
+            return HttpResponse.<String>status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("""
+                    {"errors": [{"status": 503, "code": "service_unavailable", "title": "Service unavailable."}]}
+                    """);
+        }
+
+        return HttpResponse.<String>status(HttpStatus.ACCEPTED)
+            .header("RateLimit-Limit", "10")
+            .header("RateLimit-Remaining", "9")
+            .header("RateLimit-Reset", "1");
+    }
+
+    /**
+     * Profile bulk import jobs are processing on their first poll and complete afterwards; profiles without an
+     * {@code email} are counted as failed.
+     */
+    @Get(value = "/profile-bulk-import-jobs/{id}", produces = "application/vnd.api+json")
+    public HttpResponse<String> getProfileImportJob(String id, @Header("Authorization") String auth) throws Exception {
+        if (!auth.startsWith("Klaviyo-API-Key")) {
+            return HttpResponse.unauthorized();
+        }
+        if (!profileImportJobs.containsKey(id)) {
+            return HttpResponse.<String>notFound()
+                .body("""
+                    {"errors": [{"status": 404, "code": "not_found", "title": "Not found."}]}
+                    """);
+        }
+
+        int polls = profileImportJobPolls.merge(id, 1, Integer::sum);
+        return ok(JacksonMapper.ofJson().writeValueAsString(Map.of("data", profileImportJob(id, polls == 1 ? "processing" : "complete"))));
+    }
+
+    @Get(value = "/campaigns/{id}/campaign-messages", produces = "application/vnd.api+json")
+    public HttpResponse<String> listMessagesForCampaign(String id, HttpRequest<?> request, @Header("Authorization") String auth) throws Exception {
+        if (!auth.startsWith("Klaviyo-API-Key")) {
+            return HttpResponse.unauthorized();
+        }
+
+        List<Map<String, Object>> messages = new ArrayList<>();
+        for (int i = 1; i <= MESSAGES_PER_CAMPAIGN; i++) {
+            Map<String, Object> attributes = new LinkedHashMap<>();
+            attributes.put("channel", "email");
+            attributes.put("label", "Message " + i);
+
+            Map<String, Object> message = new LinkedHashMap<>();
+            message.put("type", "campaign-message");
+            message.put("id", id + "-message-" + i);
+            message.put("attributes", attributes);
+            messages.add(message);
+        }
+
+        return ok(page(messages, request, "/campaigns/" + id + "/campaign-messages?"));
+    }
+
+    @Get(value = "/campaign-messages/{id}", produces = "application/vnd.api+json")
+    public HttpResponse<String> getMessage(String id, HttpRequest<?> request, @Header("Authorization") String auth) throws Exception {
+        if (!auth.startsWith("Klaviyo-API-Key")) {
+            return HttpResponse.unauthorized();
+        }
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("channel", "email");
+        attributes.put("label", "Test Message");
+
+        String fields = request.getParameters().get("fields[campaign-message]");
+        if (fields != null) {
+            attributes.keySet().retainAll(List.of(fields.split(",")));
+        }
+
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("type", "campaign-message");
+        message.put("id", id);
+        message.put("attributes", attributes);
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("data", message);
+
+        String include = request.getParameters().get("include");
+        if (include != null && List.of(include.split(",")).contains("campaign")) {
+            String campaignId = "campaign_" + id;
+            message.put("relationships", Map.of("campaign", Map.of("data", Map.of("type", "campaign", "id", campaignId))));
+            document.put("included", List.of(campaign(campaignId, "email")));
+        }
+
+        return ok(JacksonMapper.ofJson().writeValueAsString(document));
     }
 
     @Get(value = "/campaign-messages/{id}/campaign", produces = "application/vnd.api+json")
@@ -129,7 +561,7 @@ public class MockKlaviyoServer {
               }
             }
             """, id, id);
-        return HttpResponse.ok(response);
+        return ok(response);
     }
 
     @Get(value = "/campaign-messages/{id}/image", produces = "application/vnd.api+json")
@@ -138,6 +570,12 @@ public class MockKlaviyoServer {
             return HttpResponse.unauthorized();
         }
 
+        if (id.startsWith(MISSING_PREFIX)) {
+            return HttpResponse.<String>notFound().body("""
+                {"errors": [{"status": 404, "code": "not_found", "title": "Not found."}]}
+                """);
+        }
+
         String response = String.format("""
             {
               "data": {
@@ -152,6 +590,213 @@ public class MockKlaviyoServer {
               }
             }
             """, id);
-        return HttpResponse.ok(response);
+        return ok(response);
+    }
+
+    /**
+     * @return the profiles submitted in a profile bulk import job, each with its {@code type} and {@code attributes}
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> importedProfiles(String jobId) {
+        Map<String, Object> attributes = (Map<String, Object>) ((Map<String, Object>) profileImportJobs.get(jobId).get("data")).get("attributes");
+        return (List<Map<String, Object>>) ((Map<String, Object>) attributes.get("profiles")).get("data");
+    }
+
+    /**
+     * @return the number of profile bulk import jobs created for a list
+     */
+    public long profileImportJobCount(String listId) {
+        return profileImportJobs.values().stream().filter(document -> listIds(document).contains(listId)).count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> listIds(Map<String, Object> document) {
+        if (!(((Map<String, Object>) document.get("data")).get("relationships") instanceof Map<?, ?> relationships)) {
+            return List.of();
+        }
+        List<Map<String, Object>> lists = (List<Map<String, Object>>) ((Map<String, Object>) relationships.get("lists")).get("data");
+        return lists.stream().map(list -> (String) list.get("id")).toList();
+    }
+
+    /**
+     * @return the submitted document of a profile bulk import job
+     */
+    public Map<String, Object> profileImportJob(String jobId) {
+        return profileImportJobs.get(jobId);
+    }
+
+    public int aggregateQueries(String metricId) {
+        AtomicInteger queries = aggregateQueries.get(metricId);
+        return queries == null ? 0 : queries.get();
+    }
+
+    /**
+     * @return the number of requests, pages included, received for a report type such as {@code campaign-values-report}
+     */
+    public int reportRequests(String type) {
+        AtomicInteger requests = reportRequests.get(type);
+        return requests == null ? 0 : requests.get();
+    }
+
+    public int eventListRequests() {
+        return eventListRequests.get();
+    }
+
+    /**
+     * @return the accepted batches holding events of a metric, each as its list of {@code event-bulk-create} entries
+     */
+    public List<List<Map<String, Object>>> eventBatches(String metric) {
+        return eventBatches.stream()
+            .filter(entries -> entries.stream().anyMatch(entry -> metricName(entry).equals(metric)))
+            .toList();
+    }
+
+    public int sendJobPolls(String id) {
+        return sendJobPolls.getOrDefault(id, 0);
+    }
+
+    /**
+     * Changes the {@code updated_at} of a catalog campaign, as returned when listing campaigns without an ID filter.
+     */
+    public void updateCampaign(String id, String updatedAt) {
+        catalogUpdatedAt.put(id, updatedAt);
+    }
+
+    /**
+     * @return the number of {@code GET /campaigns/{id}} requests received for a campaign, including those answered with a 304
+     */
+    public int campaignRequests(String id) {
+        return campaignRequests.getOrDefault(id, 0);
+    }
+
+    public int campaignListRequests() {
+        return campaignListRequests.get();
+    }
+
+    private String status(String id) {
+        if (!id.startsWith(SENDING_PREFIX)) {
+            return "Draft";
+        }
+        return sendingOnce.add(id) ? "Sending" : "Sent";
+    }
+
+    private static Map<String, Object> campaign(String id, String channel) {
+        return campaign(id, channel, "Draft");
+    }
+
+    private static Map<String, Object> campaign(String id, String channel, String status) {
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("name", "Test Campaign " + id);
+        attributes.put("status", status);
+        attributes.put("archived", false);
+        attributes.put("channel", channel);
+
+        Map<String, Object> campaign = new LinkedHashMap<>();
+        campaign.put("type", "campaign");
+        campaign.put("id", id);
+        campaign.put("attributes", attributes);
+        return campaign;
+    }
+
+    /**
+     * Answers a values report with one result per filtered ID, each with the requested statistics set to 10, served
+     * {@link #PAGE_SIZE} results per page through a {@code page_cursor} parameter.
+     */
+    @SuppressWarnings("unchecked")
+    private HttpResponse<String> valuesReport(String type, String resource, String body, HttpRequest<?> request, String auth) throws Exception {
+        if (!auth.startsWith("Klaviyo-API-Key")) {
+            return HttpResponse.unauthorized();
+        }
+
+        reportRequests.computeIfAbsent(type, key -> new AtomicInteger()).incrementAndGet();
+
+        Map<String, Object> attributes = (Map<String, Object>) ((Map<String, Object>) JacksonMapper.ofJson().readValue(body, Map.class).get("data")).get("attributes");
+        Matcher idMatcher = CONTAINS_ANY_FILTER.matcher((String) attributes.get("filter"));
+        if (!idMatcher.find() || !idMatcher.group(1).equals(resource + "_id") || attributes.get("conversion_metric_id") == null) {
+            return HttpResponse.<String>badRequest().body("""
+                {"errors": [{"status": 400, "code": "invalid", "title": "Invalid report query."}]}
+                """);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String id : (List<String>) JacksonMapper.ofJson().readValue(idMatcher.group(2), List.class)) {
+            Map<String, Object> groupings = new LinkedHashMap<>();
+            groupings.put("send_channel", "email");
+            groupings.put(resource + "_id", id);
+            groupings.put(resource + "_message_id", id + "-message");
+
+            Map<String, Object> statistics = new LinkedHashMap<>();
+            ((List<String>) attributes.get("statistics")).forEach(statistic -> statistics.put(statistic, 10));
+
+            results.add(Map.of("groupings", groupings, "statistics", statistics));
+        }
+
+        int cursor = Integer.parseInt(request.getParameters().get("page_cursor", String.class, "0"));
+        int end = Math.min(cursor + PAGE_SIZE, results.size());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("type", type);
+        report.put("id", type + "-" + cursor);
+        report.put("attributes", Map.of("results", results.subList(Math.min(cursor, end), end)));
+
+        Map<String, Object> links = new LinkedHashMap<>();
+        links.put("next", end < results.size() ? "/" + type + "s?page_cursor=" + end : null);
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("data", report);
+        document.put("links", links);
+        return ok(JacksonMapper.ofJson().writeValueAsString(document));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String metricName(Map<String, Object> entry) {
+        Map<String, Object> attributes = (Map<String, Object>) entry.get("attributes");
+        Map<String, Object> event = ((List<Map<String, Object>>) ((Map<String, Object>) attributes.get("events")).get("data")).getFirst();
+        Map<String, Object> metric = (Map<String, Object>) ((Map<String, Object>) event.get("attributes")).get("metric");
+        return (String) ((Map<String, Object>) ((Map<String, Object>) metric.get("data")).get("attributes")).get("name");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> profileImportJob(String id, String status) {
+        List<Map<String, Object>> profiles = importedProfiles(id);
+        long failed = profiles.stream()
+            .filter(profile -> ((Map<String, Object>) profile.get("attributes")).get("email") == null)
+            .count();
+        boolean complete = status.equals("complete");
+
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("status", status);
+        attributes.put("total_count", profiles.size());
+        attributes.put("completed_count", complete ? profiles.size() - failed : 0);
+        attributes.put("failed_count", complete ? failed : 0);
+
+        Map<String, Object> job = new LinkedHashMap<>();
+        job.put("type", "profile-bulk-import-job");
+        job.put("id", id);
+        job.put("attributes", attributes);
+        return job;
+    }
+
+    /**
+     * Serves one page of {@link #PAGE_SIZE} resources, with a relative {@code links.next} cursor when more remain.
+     */
+    private static String page(List<Map<String, Object>> resources, HttpRequest<?> request, String path) throws Exception {
+        int cursor = Integer.parseInt(request.getParameters().get("page[cursor]", String.class, "0"));
+        int end = Math.min(cursor + PAGE_SIZE, resources.size());
+
+        Map<String, Object> links = new LinkedHashMap<>();
+        links.put("next", end < resources.size() ? path + "&page%5Bcursor%5D=" + end : null);
+
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("data", resources.subList(Math.min(cursor, end), end));
+        document.put("links", links);
+        return JacksonMapper.ofJson().writeValueAsString(document);
+    }
+
+    private static HttpResponse<String> ok(String body) {
+        return HttpResponse.ok(body)
+            .header("RateLimit-Limit", "10")
+            .header("RateLimit-Remaining", "9")
+            .header("RateLimit-Reset", "1");
     }
-}
\ No newline at end of file
+}
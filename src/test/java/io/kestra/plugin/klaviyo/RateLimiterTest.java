@@ -0,0 +1,129 @@
+package io.kestra.plugin.klaviyo;
+
+import java.net.http.HttpHeaders;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Paces {@link RateLimitTier#S}, 3 requests per second in bursts and 60 per minute steadily, on a fake clock that
+ * only moves when the limiter sleeps.
+ */
+class RateLimiterTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void burstThenSteady() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(RateLimitTier.S, clock::get, clock::addAndGet);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.acquire(), is(Duration.ZERO));
+        }
+        assertThat(clock.get(), is(0L));
+
+        // the burst bucket refills a token every third of a second
+        limiter.acquire();
+        assertThat((double) clock.get(), closeTo(SECOND / 3.0, 10));
+
+        // once the steady bucket is drained, requests are paced at one per second
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire();
+        }
+        long drained = clock.get();
+        for (int i = 0; i < 10; i++) {
+            limiter.acquire();
+        }
+        assertThat((double) (clock.get() - drained), closeTo(10.0 * SECOND, 1_000));
+    }
+
+    @Test
+    void steadyQuota() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(RateLimitTier.S, clock::get, clock::addAndGet);
+
+        int granted = 0;
+        while (clock.get() < 60 * SECOND) {
+            limiter.acquire();
+            granted++;
+        }
+
+        // a full steady bucket plus the tokens refilled during the minute
+        assertThat(granted, allOf(greaterThan(60), lessThanOrEqualTo(121)));
+    }
+
+    @Test
+    void sharedAcrossThreads() throws Exception {
+        RateLimiter limiter = new RateLimiter(RateLimitTier.S, () -> 0L, nanos -> {
+            throw new InterruptedException();
+        });
+
+        List<Future<Duration>> acquired = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                acquired.add(executor.submit(limiter::acquire));
+            }
+        }
+
+        int granted = 0;
+        for (Future<Duration> future : acquired) {
+            try {
+                future.get();
+                granted++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause(), instanceOf(InterruptedException.class));
+            }
+        }
+
+        // on a frozen clock, only the burst capacity is handed out, once
+        assertThat(granted, is(3));
+    }
+
+    @Test
+    void lowRemainingOnlyCapsBurst() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(RateLimitTier.S, clock::get, clock::addAndGet);
+
+        limiter.acquire();
+        limiter.observe(200, headers(Map.of("RateLimit-Remaining", "0")));
+
+        // the steady bucket keeps its 59 tokens, so the refilled burst is available at once
+        clock.addAndGet(SECOND);
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.acquire(), is(Duration.ZERO));
+        }
+    }
+
+    @Test
+    void lowRemainingOfSteadyWindowCapsSteady() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        RateLimiter limiter = new RateLimiter(RateLimitTier.S, clock::get, clock::addAndGet);
+
+        limiter.acquire();
+        limiter.observe(200, headers(Map.of("RateLimit-Limit", "60, 3;w=1, 60;w=60", "RateLimit-Remaining", "1")));
+
+        // one remaining steady token plus the one refilled during the second
+        clock.addAndGet(SECOND);
+        assertThat(limiter.acquire(), is(Duration.ZERO));
+        assertThat(limiter.acquire(), is(Duration.ZERO));
+        assertThat(limiter.acquire(), greaterThan(Duration.ZERO));
+    }
+
+    private static HttpHeaders headers(Map<String, String> values) {
+        Map<String, List<String>> headers = new HashMap<>();
+        values.forEach((name, value) -> headers.put(name, List.of(value)));
+        return HttpHeaders.of(headers, (name, value) -> true);
+    }
+}
@@ -0,0 +1,45 @@
+package io.kestra.plugin.klaviyo;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class RetryPolicyTest {
+    @Test
+    void ceilingDoublesUpToMaxBackoff() {
+        RetryPolicy policy = new RetryPolicy(10, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofMinutes(5), LoggerFactory.getLogger(RetryPolicyTest.class));
+
+        assertThat(policy.ceiling(1), is(Duration.ofSeconds(1).toNanos()));
+        assertThat(policy.ceiling(3), is(Duration.ofSeconds(4).toNanos()));
+        assertThat(policy.ceiling(6), is(Duration.ofSeconds(30).toNanos()));
+    }
+
+    @Test
+    void ceilingSaturatesInsteadOfOverflowing() throws Exception {
+        RetryPolicy policy = new RetryPolicy(100, Duration.ofSeconds(10), Duration.ofDays(365), Duration.ZERO, LoggerFactory.getLogger(RetryPolicyTest.class));
+
+        for (int attempt = 1; attempt < 100; attempt++) {
+            assertThat(policy.ceiling(attempt), allOf(greaterThan(0L), lessThanOrEqualTo(Duration.ofDays(365).toNanos())));
+        }
+        assertThat(policy.ceiling(99), is(Duration.ofDays(365).toNanos()));
+
+        // the zero budget is exhausted by any delay, so no sleep happens
+        assertThat(policy.backoff(60, "request", "503"), is(false));
+    }
+
+    @Test
+    void onlyConnectionFailuresAreUnsent() {
+        assertThat(RetryPolicy.isUnsent(new IOException(new ConnectException("Connection refused"))), is(true));
+        assertThat(RetryPolicy.isUnsent(new UnknownHostException("a.klaviyo.com")), is(true));
+        assertThat(RetryPolicy.isUnsent(new SocketTimeoutException("Read timed out")), is(false));
+        assertThat(RetryPolicy.isTransient(new SocketTimeoutException("Read timed out")), is(true));
+    }
+}
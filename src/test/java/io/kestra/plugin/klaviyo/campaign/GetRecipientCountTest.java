@@ -1,5 +1,7 @@
 package io.kestra.plugin.klaviyo.campaign;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
 import java.util.List;
 import java.util.Map;
 
@@ -10,6 +12,7 @@ import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -69,4 +72,29 @@ class GetRecipientCountTest extends AbstractKlaviyoTest {
             logger.info("Retrieved estimation for campaign: {}", estimation.get("id"));
         }
     }
+
+    @Test
+    void testStore() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        GetRecipientCount task = GetRecipientCount.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of("campaign-001", "campaign-002", "campaign-003")))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        GetRecipientCount.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(output.getUri(), is(notNullValue()));
+        assertThat(output.getRows(), is(nullValue()));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+
+            assertThat(rows, hasSize(3));
+            assertThat(((Map<?, ?>) rows.getFirst()).get("id"), is("campaign-001"));
+        }
+    }
 }
@@ -1,5 +1,6 @@
 package io.kestra.plugin.klaviyo.campaign;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -7,16 +8,26 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 
 import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.metrics.Counter;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.utils.IdUtils;
 import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.KlaviyoApiException;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest
 class GetTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
     @Test
     void testFetchOne() throws Exception {
         RunContext runContext = runContextFactory.of();
@@ -69,4 +80,223 @@ class GetTest extends AbstractKlaviyoTest {
             logger.info("Retrieved campaign: {}", campaign.get("id"));
         }
     }
+
+    @Test
+    void testFetchConcurrentKeepsOrder() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List<String> campaignIds = List.of("campaign-001", "campaign-002", "campaign-003", "campaign-004", "campaign-005");
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(campaignIds))
+            .concurrency(Property.ofValue(3))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Get.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(5L));
+        assertThat(output.getRows().stream().map(campaign -> campaign.get("id")).toList(), is(campaignIds));
+    }
+
+    @Test
+    void testThrottledRequestIsRetriedAfterRetryAfter() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of(MockKlaviyoServer.THROTTLED_PREFIX + "campaign-001", "campaign-002")))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        long start = System.currentTimeMillis();
+        Get.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getRows().getFirst().get("id"), is(MockKlaviyoServer.THROTTLED_PREFIX + "campaign-001"));
+        assertThat(System.currentTimeMillis() - start, greaterThanOrEqualTo(1000L));
+    }
+
+    @Test
+    void testFetchInBatches() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List<String> campaignIds = List.of(
+            "campaign-001", MockKlaviyoServer.SMS_PREFIX + "campaign-002", "campaign-003", "campaign-004", "campaign-005", "campaign-001"
+        );
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(campaignIds))
+            .batchSize(Property.ofValue(4))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Get.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(6L));
+        assertThat(output.getRows().stream().map(campaign -> campaign.get("id")).toList(), is(campaignIds));
+    }
+
+    @Test
+    void testFetchInBatchesFailsOnUnknownCampaign() {
+        RunContext runContext = runContextFactory.of();
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of("campaign-001", MockKlaviyoServer.MISSING_PREFIX + "campaign-002")))
+            .batchSize(Property.ofValue(10))
+            .build();
+
+        KlaviyoApiException exception = assertThrows(KlaviyoApiException.class, () -> task.run(runContext));
+        assertThat(exception.getStatus(), is(404));
+        assertThat(exception.getMessage(), containsString(MockKlaviyoServer.MISSING_PREFIX + "campaign-002"));
+    }
+
+    @Test
+    void testCache() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of("flow", Map.of("id", "klaviyo_cache", "namespace", "company.team")));
+        String campaignId = "cached-" + IdUtils.create();
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of(campaignId)))
+            .cacheTtl(Property.ofValue(Duration.ofHours(1)))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build();
+
+        Get.Output first = task.run(runContext);
+        Get.Output second = task.run(runContext);
+
+        assertThat(first.getRow().get("id"), is(campaignId));
+        assertThat(second.getRow(), is(first.getRow()));
+        assertThat(mockKlaviyoServer.campaignRequests(campaignId), is(1));
+    }
+
+    @Test
+    void testCacheRevalidation() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of("flow", Map.of("id", "klaviyo_cache", "namespace", "company.team")));
+        String campaignId = "revalidated-" + IdUtils.create();
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of(campaignId)))
+            .cacheTtl(Property.ofValue(Duration.ofHours(1)))
+            .cacheTtls(Property.ofValue(Map.of("campaign", Duration.ofMillis(1))))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build();
+
+        task.run(runContext);
+        Thread.sleep(10);
+        Get.Output revalidated = task.run(runContext);
+
+        assertThat(revalidated.getRow().get("id"), is(campaignId));
+        assertThat(mockKlaviyoServer.campaignRequests(campaignId), is(2));
+    }
+
+    @Test
+    void testDuplicateIdsFetchedOnce() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String first = "duplicate-" + IdUtils.create();
+        String second = "duplicate-" + IdUtils.create();
+        List<String> campaignIds = List.of(first, second, first, first, second);
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(campaignIds))
+            .concurrency(Property.ofValue(2))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Get.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(5L));
+        assertThat(output.getRows().stream().map(campaign -> campaign.get("id")).toList(), is(campaignIds));
+        assertThat(mockKlaviyoServer.campaignRequests(first), is(1));
+        assertThat(mockKlaviyoServer.campaignRequests(second), is(1));
+    }
+
+    @Test
+    void testMetrics() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String throttledId = MockKlaviyoServer.THROTTLED_PREFIX + IdUtils.create();
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of(throttledId, "campaign-002", "campaign-003")))
+            .fetchType(Property.ofValue(FetchType.NONE))
+            .build();
+
+        task.run(runContext);
+
+        assertThat(metric(runContext, "requests", Map.of("endpoint", "/campaigns/{id}", "status", "200")), is(3.0));
+        assertThat(metric(runContext, "requests", Map.of("endpoint", "/campaigns/{id}", "status", "429")), is(1.0));
+        assertThat(metric(runContext, "retries", Map.of("endpoint", "/campaigns/{id}")), is(1.0));
+        assertThat(metric(runContext, "bytes.received", Map.of("endpoint", "/campaigns/{id}")), greaterThan(0.0));
+        assertThat(runContext.metrics().stream().anyMatch(metric -> metric.getName().equals("request.duration")), is(true));
+    }
+
+    private static Double metric(RunContext runContext, String name, Map<String, String> tags) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals(name) && metric.getTags().equals(tags))
+            .map(metric -> ((Counter) metric).getValue())
+            .findFirst()
+            .orElse(null);
+    }
+
+    @Test
+    void testFetchInBatchesResumesFromCheckpoint() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of(
+            "flow", Map.of("id", "klaviyo_batch_checkpoint", "namespace", "company.team"),
+            "execution", Map.of("id", IdUtils.create()),
+            "taskrun", Map.of("id", IdUtils.create())
+        ));
+
+        String prefix = IdUtils.create() + "-";
+        List<String> campaignIds = List.of(prefix + "campaign-001", prefix + "campaign-002", MockKlaviyoServer.UNAVAILABLE_PREFIX + prefix + "campaign-003", prefix + "campaign-004");
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(campaignIds))
+            .batchSize(Property.ofValue(2))
+            .concurrency(Property.ofValue(1))
+            .maxAttempts(Property.ofValue(1))
+            .checkpointInterval(Property.ofValue(2))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        assertThrows(KlaviyoApiException.class, () -> task.run(runContext));
+
+        int before = mockKlaviyoServer.campaignListRequests();
+        Get.Output output = task.run(runContext);
+
+        assertThat(output.getRows().stream().map(campaign -> campaign.get("id")).toList(), is(campaignIds));
+        assertThat(mockKlaviyoServer.campaignListRequests() - before, is(1));
+    }
+
+    @Test
+    void testFetchInBatchesRejectsCache() {
+        RunContext runContext = runContextFactory.of();
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of("campaign-001")))
+            .batchSize(Property.ofValue(10))
+            .cacheTtl(Property.ofValue(Duration.ofHours(1)))
+            .build();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("cacheTtl"));
+    }
 }
@@ -0,0 +1,120 @@
+package io.kestra.plugin.klaviyo.campaign;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class ListTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    void testFetchAllPages() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List task = List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .sort(Property.ofValue("-updated_at"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        List.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is((long) MockKlaviyoServer.CATALOG_SIZE));
+        assertThat(output.getRows().getFirst().get("id"), is("email-campaign-001"));
+        assertThat(output.getRows().getLast().get("id"), is("email-campaign-005"));
+    }
+
+    @Test
+    void testStore() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List task = List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .channel(Property.ofValue("sms"))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        List.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is((long) MockKlaviyoServer.CATALOG_SIZE));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            java.util.List<Object> campaigns = FileSerde.readAll(reader).collectList().block();
+
+            assertThat(campaigns, hasSize(MockKlaviyoServer.CATALOG_SIZE));
+            assertThat(((Map<?, ?>) campaigns.getFirst()).get("id"), is("sms-campaign-001"));
+        }
+    }
+
+    @Test
+    void testIncremental() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of("flow", Map.of("id", "klaviyo_sync", "namespace", "company.team")));
+
+        List task = List.builder()
+            .id("incremental_" + IdUtils.create())
+            .type(List.class.getName())
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .channel(Property.ofValue("mobile_push"))
+            .incremental(Property.ofValue(true))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        List.Output first = task.run(runContext);
+        assertThat(first.getSize(), is((long) MockKlaviyoServer.CATALOG_SIZE));
+        assertThat(first.getWatermark(), is("2024-01-05T00:00:00+00:00"));
+
+        List.Output unchanged = task.run(runContext);
+        assertThat(unchanged.getSize(), is(0L));
+        assertThat(unchanged.getWatermark(), is("2024-01-05T00:00:00+00:00"));
+
+        mockKlaviyoServer.updateCampaign("mobile_push-campaign-002", "2024-02-01T10:00:00+00:00");
+
+        List.Output changed = task.run(runContext);
+        assertThat(changed.getSize(), is(1L));
+        assertThat(changed.getRows().getFirst().get("id"), is("mobile_push-campaign-002"));
+        assertThat(changed.getWatermark(), is("2024-02-01T10:00:00+00:00"));
+    }
+
+    @Test
+    void testIncrementalWithSparseFieldset() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of("flow", Map.of("id", "klaviyo_sync_fields", "namespace", "company.team")));
+
+        List task = List.builder()
+            .id("incremental_fields_" + IdUtils.create())
+            .type(List.class.getName())
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .channel(Property.ofValue("sms"))
+            .incremental(Property.ofValue(true))
+            .fields(Property.ofValue(Map.of("campaign", java.util.List.of("name"))))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        List.Output first = task.run(runContext);
+        assertThat(first.getWatermark(), is("2024-01-05T00:00:00+00:00"));
+        assertThat(((Map<?, ?>) first.getRows().getFirst().get("attributes")).keySet(), containsInAnyOrder("name", "updated_at"));
+
+        assertThat(task.run(runContext).getSize(), is(0L));
+    }
+}
@@ -11,9 +11,13 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.ErrorMode;
+import io.kestra.plugin.klaviyo.KlaviyoApiException;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest
 class GetImagesTest extends AbstractKlaviyoTest {
@@ -70,4 +74,42 @@ class GetImagesTest extends AbstractKlaviyoTest {
             logger.info("Retrieved image: {}", image.get("id"));
         }
     }
+
+    @Test
+    void testContinueOnError() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String missingId = MockKlaviyoServer.MISSING_PREFIX + "msg-002";
+
+        GetImages task = GetImages.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .messageIds(Property.ofValue(List.of("msg-001", missingId, "msg-003")))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        GetImages.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getRows().stream().map(image -> image.get("id")).toList(), is(List.of("image_msg-001", "image_msg-003")));
+        assertThat(output.getErrors(), hasSize(1));
+        assertThat(output.getErrors().getFirst().get("id"), is(missingId));
+        assertThat(output.getErrors().getFirst().get("status"), is(404));
+        assertThat((String) output.getErrors().getFirst().get("body"), containsString("not_found"));
+    }
+
+    @Test
+    void testFailFastOnError() {
+        RunContext runContext = runContextFactory.of();
+
+        GetImages task = GetImages.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .messageIds(Property.ofValue(List.of("msg-001", MockKlaviyoServer.MISSING_PREFIX + "msg-002")))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        KlaviyoApiException exception = assertThrows(KlaviyoApiException.class, () -> task.run(runContext));
+        assertThat(exception.getStatus(), is(404));
+    }
 }
@@ -69,4 +69,49 @@ class GetTest extends AbstractKlaviyoTest {
             logger.info("Retrieved message: {}", message.get("id"));
         }
     }
+
+    @Test
+    void testAttributeProjection() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .messageIds(Property.ofValue(List.of("msg-001")))
+            .attributes(Property.ofValue(List.of("label")))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build();
+
+        Get.Output output = task.run(runContext);
+
+        Map<String, Object> message = output.getRow();
+        assertThat(message.get("id"), is("msg-001"));
+        assertThat((Map<String, Object>) message.get("attributes"), is(Map.of("label", "Test Message")));
+    }
+
+    @Test
+    void testSparseFieldsetsAndInclude() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Get task = Get.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .messageIds(Property.ofValue(List.of("msg-001", "msg-002")))
+            .fields(Property.ofValue(Map.of("campaign-message", List.of("label"))))
+            .include(Property.ofValue(List.of("campaign")))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Get.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+
+        Map<String, Object> message = output.getRows().getFirst();
+        assertThat((Map<String, Object>) message.get("attributes"), is(Map.of("label", "Test Message")));
+
+        Map<String, Object> included = (Map<String, Object>) message.get("included");
+        Map<String, Object> campaign = (Map<String, Object>) included.get("campaign");
+        assertThat(campaign.get("type"), is("campaign"));
+        assertThat(campaign.get("id"), is("campaign_msg-001"));
+    }
 }
@@ -0,0 +1,46 @@
+package io.kestra.plugin.klaviyo.campaign.messages;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class ListTest extends AbstractKlaviyoTest {
+
+    @Test
+    void testFetchMultiple() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List task = List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(java.util.List.of("campaign-001", "campaign-002")))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        List.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L * MockKlaviyoServer.MESSAGES_PER_CAMPAIGN));
+        assertThat(
+            output.getRows().stream().map(message -> message.get("id")).toList(),
+            is(java.util.List.of(
+                "campaign-001-message-1", "campaign-001-message-2", "campaign-001-message-3",
+                "campaign-002-message-1", "campaign-002-message-2", "campaign-002-message-3"
+            ))
+        );
+
+        for (Map<String, Object> message : output.getRows()) {
+            assertThat(message.get("type"), is("campaign-message"));
+        }
+    }
+}
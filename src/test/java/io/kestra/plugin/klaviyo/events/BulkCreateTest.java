@@ -0,0 +1,244 @@
+package io.kestra.plugin.klaviyo.events;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.ErrorMode;
+import io.kestra.plugin.klaviyo.FileFormat;
+import io.kestra.plugin.klaviyo.KlaviyoApiException;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class BulkCreateTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testBatches() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        URI uri = events(runContext, List.of("Placed Order Test", "Placed Order Test", "Placed Order Test", "Placed Order Test", "Placed Order Test"));
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .maxEventsPerBatch(Property.ofValue(2))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        BulkCreate.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(output.getEventCount(), is(5L));
+        assertThat(output.getFailedEventCount(), is(0L));
+        assertThat(output.getRows().stream().map(row -> row.get("first")).toList(), is(List.of(1L, 3L, 5L)));
+        assertThat(output.getRows().stream().map(row -> row.get("events")).toList(), is(List.of(2, 2, 1)));
+
+        List<List<Map<String, Object>>> batches = mockKlaviyoServer.eventBatches("Placed Order Test");
+        assertThat(batches, hasSize(3));
+
+        Map<String, Object> entry = (Map<String, Object>) batches.stream().flatMap(List::stream).toList().getFirst().get("attributes");
+        Map<String, Object> profile = (Map<String, Object>) ((Map<String, Object>) entry.get("profile")).get("data");
+        assertThat(profile.get("type"), is("profile"));
+        assertThat(((Map<String, Object>) profile.get("attributes")).get("email"), startsWith("user"));
+
+        Map<String, Object> event = ((List<Map<String, Object>>) ((Map<String, Object>) entry.get("events")).get("data")).getFirst();
+        Map<String, Object> eventAttributes = (Map<String, Object>) event.get("attributes");
+        assertThat(eventAttributes.get("value"), is(10));
+        assertThat((Map<String, Object>) eventAttributes.get("properties"), hasKey("order_id"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCsvEvents() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        File file = runContext.workingDir().createTempFile(".csv").toFile();
+        Files.writeString(file.toPath(), """
+            metric,profile.email,value,value_currency,properties.order_id
+            Csv Event Test,user1@example.com,10.5,USD,order-1
+            Csv Event Test,user2@example.com,10,,order-2
+            """, StandardCharsets.UTF_8);
+        URI uri = runContext.storage().putFile(file);
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .format(Property.ofValue(FileFormat.CSV))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        BulkCreate.Output output = task.run(runContext);
+
+        assertThat(output.getEventCount(), is(2L));
+
+        List<Map<String, Object>> events = mockKlaviyoServer.eventBatches("Csv Event Test").stream()
+            .flatMap(List::stream)
+            .map(entry -> (Map<String, Object>) ((List<Map<String, Object>>) ((Map<String, Object>) ((Map<String, Object>) entry.get("attributes")).get("events")).get("data")).getFirst().get("attributes"))
+            .toList();
+        assertThat(events.getFirst().get("value"), is(10.5));
+        assertThat(events.getFirst().get("value_currency"), is("USD"));
+        assertThat(events.getFirst().get("properties"), is(Map.of("order_id", "order-1")));
+        assertThat(events.get(1).get("value"), is(10));
+    }
+
+    @Test
+    void testContinueOnFailedBatch() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String failing = MockKlaviyoServer.FAILING_PREFIX + "Viewed Product Test";
+        URI uri = events(runContext, List.of("Viewed Product Test", "Viewed Product Test", failing, failing, "Viewed Product Test"));
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .maxEventsPerBatch(Property.ofValue(2))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        BulkCreate.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getEventCount(), is(3L));
+        assertThat(output.getFailedEventCount(), is(2L));
+        assertThat(output.getErrors(), hasSize(1));
+        assertThat(output.getErrors().getFirst().get("id"), is("3"));
+        assertThat(output.getErrors().getFirst().get("status"), is(400));
+        assertThat(output.getErrors().getFirst().get("events"), is(2));
+    }
+
+    @Test
+    void testContinueOnInvalidEvent() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            FileSerde.write(output, Map.of("metric", "Invalid Event Test", "profile", Map.of("email", "user1@example.com")));
+            FileSerde.write(output, Map.of("metric", "Invalid Event Test"));
+            FileSerde.write(output, Map.of("metric", "Invalid Event Test", "profile", Map.of("email", "user3@example.com")));
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .maxEventsPerBatch(Property.ofValue(2))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        BulkCreate.Output output = task.run(runContext);
+
+        assertThat(output.getEventCount(), is(2L));
+        assertThat(output.getFailedEventCount(), is(1L));
+        assertThat(output.getRows().stream().map(row -> row.get("first")).toList(), is(List.of(1L)));
+        assertThat(output.getRows().getFirst().get("events"), is(2));
+        assertThat(output.getErrors(), hasSize(1));
+        assertThat(output.getErrors().getFirst().get("id"), is("2"));
+        assertThat(output.getErrors().getFirst().get("status"), is(nullValue()));
+        assertThat((String) output.getErrors().getFirst().get("body"), containsString("has no `profile`"));
+    }
+
+    @Test
+    void testFailFastOnInvalidEvent() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            FileSerde.write(output, Map.of("profile", Map.of("email", "user1@example.com")));
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+    }
+
+    @Test
+    void testBatchIsNotRetriedOnServerError() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String unavailable = MockKlaviyoServer.UNAVAILABLE_PREFIX + "Added To Cart Test";
+        URI uri = events(runContext, List.of(unavailable, unavailable));
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(10)))
+            .errorMode(Property.ofValue(ErrorMode.CONTINUE))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        BulkCreate.Output output = task.run(runContext);
+
+        assertThat(output.getFailedEventCount(), is(2L));
+        assertThat(output.getErrors().getFirst().get("status"), is(503));
+        assertThat(mockKlaviyoServer.eventBatches(unavailable), hasSize(1));
+    }
+
+    @Test
+    void testFailFastOnFailedBatch() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        URI uri = events(runContext, List.of(MockKlaviyoServer.FAILING_PREFIX + "Started Checkout Test"));
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .build();
+
+        KlaviyoApiException exception = assertThrows(KlaviyoApiException.class, () -> task.run(runContext));
+        assertThat(exception.getStatus(), is(400));
+    }
+
+    /**
+     * Stores one event per metric name, the n-th event being for {@code user<n>@example.com}.
+     */
+    private static URI events(RunContext runContext, List<String> metrics) throws Exception {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            for (int i = 0; i < metrics.size(); i++) {
+                FileSerde.write(output, Map.of(
+                    "metric", metrics.get(i),
+                    "profile", Map.of("email", "user" + (i + 1) + "@example.com"),
+                    "properties", Map.of("order_id", "order-" + (i + 1)),
+                    "value", 10
+                ));
+            }
+        }
+        return runContext.storage().putFile(file);
+    }
+}
@@ -0,0 +1,170 @@
+package io.kestra.plugin.klaviyo.events;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class ListTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    void testOrderedSlices() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        int requestsBefore = mockKlaviyoServer.eventListRequests();
+
+        List task = List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .startDate(Property.ofValue("2024-01-01"))
+            .endDate(Property.ofValue("2024-01-03"))
+            .slices(Property.ofValue(4))
+            .concurrency(Property.ofValue(4))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        AbstractKlaviyoTask.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is((long) MockKlaviyoServer.EVENT_CATALOG_SIZE));
+        assertThat(
+            output.getRows().stream().map(event -> event.get("id")).toList(),
+            is(IntStream.range(0, MockKlaviyoServer.EVENT_CATALOG_SIZE).mapToObj(i -> String.format("event-%03d", i)).toList())
+        );
+
+        int pagesPerSlice = MockKlaviyoServer.EVENT_CATALOG_SIZE / 4 / MockKlaviyoServer.PAGE_SIZE;
+        assertThat(mockKlaviyoServer.eventListRequests() - requestsBefore, is(4 * pagesPerSlice));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testUnorderedStore() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List task = List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .startDate(Property.ofValue(MockKlaviyoServer.EVENTS_START))
+            .endDate(Property.ofValue("2024-01-02T00:00:00Z"))
+            .slices(Property.ofValue(3))
+            .ordered(Property.ofValue(false))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        AbstractKlaviyoTask.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(24L));
+        assertThat(output.getUri(), notNullValue());
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            Set<Object> ids = FileSerde.readAll(reader)
+                .map(event -> ((Map<String, Object>) event).get("id"))
+                .collect(Collectors.toSet())
+                .block();
+
+            assertThat(ids, is(IntStream.range(0, 24).mapToObj(i -> String.format("event-%03d", i)).collect(Collectors.toSet())));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testOrderedStore() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List task = List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .startDate(Property.ofValue(MockKlaviyoServer.EVENTS_START))
+            .endDate(Property.ofValue("2024-01-02T00:00:00Z"))
+            .slices(Property.ofValue(6))
+            .concurrency(Property.ofValue(3))
+            .sort(Property.ofValue("datetime"))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        AbstractKlaviyoTask.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(24L));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            java.util.List<Object> ids = FileSerde.readAll(reader)
+                .map(row -> ((Map<String, Object>) row).get("id"))
+                .collectList()
+                .block();
+
+            assertThat(ids, is(IntStream.range(0, 24).mapToObj(i -> String.format("event-%03d", i)).toList()));
+        }
+    }
+
+    @Test
+    void testOrderedRejectsOtherSort() {
+        RunContext runContext = runContextFactory.of();
+
+        List task = List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .startDate(Property.ofValue(MockKlaviyoServer.EVENTS_START))
+            .endDate(Property.ofValue("2024-01-02T00:00:00Z"))
+            .sort(Property.ofValue("-datetime"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("`sort` must be `datetime`"));
+    }
+
+    @Test
+    void testSubRange() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List task = List.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .startDate(Property.ofValue("2024-01-01T10:00:00Z"))
+            .endDate(Property.ofValue("2024-01-01T13:00:00+00:00"))
+            .slices(Property.ofValue(2))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        AbstractKlaviyoTask.Output output = task.run(runContext);
+
+        assertThat(output.getRows().stream().map(event -> event.get("id")).toList(), is(java.util.List.of("event-010", "event-011", "event-012")));
+    }
+
+    @Test
+    void testSlices() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-01-01T00:00:10Z");
+
+        java.util.List<List.Slice> slices = List.slices(from, to, 3);
+
+        assertThat(slices, hasSize(3));
+        assertThat(slices.getFirst().from(), is(from));
+        assertThat(slices.getLast().to(), is(to));
+        for (int i = 1; i < slices.size(); i++) {
+            assertThat(slices.get(i).from(), is(slices.get(i - 1).to()));
+        }
+
+        assertThat(List.slices(from, to, 50), hasSize(10));
+    }
+}
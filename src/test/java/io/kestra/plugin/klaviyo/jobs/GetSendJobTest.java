@@ -1,5 +1,8 @@
 package io.kestra.plugin.klaviyo.jobs;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -10,13 +13,22 @@ import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.IdUtils;
 import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.KlaviyoApiException;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @KestraTest
 class GetSendJobTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
 
     @Test
     void testFetchOne() throws Exception {
@@ -69,4 +81,75 @@ class GetSendJobTest extends AbstractKlaviyoTest {
             logger.info("Retrieved send job: {}", job.get("id"));
         }
     }
+
+    @Test
+    void testTransientErrorIsRetried() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        GetSendJob task = GetSendJob.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .jobIds(Property.ofValue(List.of("job-001", MockKlaviyoServer.UNAVAILABLE_PREFIX + "job-002")))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(50)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        GetSendJob.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getRows().get(1).get("id"), is(MockKlaviyoServer.UNAVAILABLE_PREFIX + "job-002"));
+    }
+
+    @Test
+    void testPersistentErrorFailsAfterMaxAttempts() {
+        RunContext runContext = runContextFactory.of();
+
+        GetSendJob task = GetSendJob.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .jobIds(Property.ofValue(List.of(MockKlaviyoServer.FAILING_PREFIX + "job-001")))
+            .maxAttempts(Property.ofValue(3))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(50)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("503"));
+    }
+
+    @Test
+    void testResumeFromCheckpoint() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of(
+            "flow", Map.of("id", "klaviyo_checkpoint", "namespace", "company.team"),
+            "execution", Map.of("id", IdUtils.create()),
+            "taskrun", Map.of("id", IdUtils.create())
+        ));
+
+        String prefix = IdUtils.create() + "-";
+        List<String> jobIds = List.of(prefix + "job-001", prefix + "job-002", MockKlaviyoServer.UNAVAILABLE_PREFIX + prefix + "job-003", prefix + "job-004");
+
+        GetSendJob task = GetSendJob.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .jobIds(Property.ofValue(jobIds))
+            .concurrency(Property.ofValue(1))
+            .maxAttempts(Property.ofValue(1))
+            .checkpointInterval(Property.ofValue(1))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        assertThrows(KlaviyoApiException.class, () -> task.run(runContext));
+
+        GetSendJob.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(4L));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Object> jobs = FileSerde.readAll(reader).collectList().block();
+            assertThat(jobs.stream().map(job -> ((Map<?, ?>) job).get("id")).toList(), is(jobIds));
+        }
+
+        assertThat(mockKlaviyoServer.sendJobPolls(prefix + "job-001"), is(1));
+        assertThat(mockKlaviyoServer.sendJobPolls(prefix + "job-002"), is(1));
+        assertThat(mockKlaviyoServer.sendJobPolls(prefix + "job-004"), is(1));
+    }
 }
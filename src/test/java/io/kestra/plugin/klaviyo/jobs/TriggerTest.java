@@ -0,0 +1,117 @@
+package io.kestra.plugin.klaviyo.jobs;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class TriggerTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStatusChanges() throws Exception {
+        String sendingId = MockKlaviyoServer.SENDING_PREFIX + "trigger-campaign-001";
+        String draftId = "trigger-campaign-002";
+
+        Trigger trigger = Trigger.builder()
+            .id("watch_" + IdUtils.create())
+            .type(Trigger.class.getName())
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of(sendingId, draftId)))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        // the first poll only records the baseline
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        Optional<Execution> second = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(second.isPresent(), is(true));
+        List<Map<String, Object>> secondChanges = (List<Map<String, Object>>) second.get().getTrigger().getVariables().get("changes");
+        assertThat(secondChanges, hasSize(1));
+        assertThat(secondChanges.getFirst().get("id"), is(sendingId));
+        assertThat(secondChanges.getFirst().get("previousStatus"), is("Sending"));
+        assertThat(secondChanges.getFirst().get("status"), is("Sent"));
+
+        int before = mockKlaviyoServer.campaignListRequests();
+        Optional<Execution> idle = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(idle.isPresent(), is(false));
+        assertThat(mockKlaviyoServer.campaignListRequests() - before, is(1));
+    }
+
+    @Test
+    void testStatusFilter() throws Exception {
+        String sendingId = MockKlaviyoServer.SENDING_PREFIX + "trigger-campaign-003";
+
+        Trigger trigger = Trigger.builder()
+            .id("watch_" + IdUtils.create())
+            .type(Trigger.class.getName())
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of(sendingId)))
+            .statuses(Property.ofValue(List.of("Sent")))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(true));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+    }
+
+    @Test
+    void testMissingCampaign() throws Exception {
+        String draftId = "trigger-campaign-004";
+
+        Trigger trigger = Trigger.builder()
+            .id("watch_" + IdUtils.create())
+            .type(Trigger.class.getName())
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of(MockKlaviyoServer.MISSING_PREFIX + "trigger-campaign-005", draftId)))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+    }
+
+    @Test
+    void testStatusFilterIgnoresCase() throws Exception {
+        String sendingId = MockKlaviyoServer.SENDING_PREFIX + "trigger-campaign-006";
+
+        Trigger trigger = Trigger.builder()
+            .id("watch_" + IdUtils.create())
+            .type(Trigger.class.getName())
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of(sendingId)))
+            .statuses(Property.ofValue(List.of("SENT")))
+            .build();
+
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(true));
+    }
+}
@@ -0,0 +1,75 @@
+package io.kestra.plugin.klaviyo.jobs;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class WaitForCompletionTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    void testWaitUntilComplete() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String processingJobId = MockKlaviyoServer.PROCESSING_PREFIX + "wait-job-001";
+        String completeJobId = "wait-job-002";
+
+        WaitForCompletion task = WaitForCompletion.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .jobIds(Property.ofValue(List.of(processingJobId, completeJobId)))
+            .initialInterval(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        WaitForCompletion.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getPendingJobIds(), is(empty()));
+        assertThat(output.getRows().stream().map(job -> job.get("id")).toList(), is(List.of(processingJobId, completeJobId)));
+
+        for (Map<String, Object> job : output.getRows()) {
+            assertThat(((Map<String, Object>) job.get("attributes")).get("status"), is("complete"));
+        }
+
+        assertThat(mockKlaviyoServer.sendJobPolls(processingJobId), is(MockKlaviyoServer.PROCESSING_POLLS + 1));
+        assertThat(mockKlaviyoServer.sendJobPolls(completeJobId), is(1));
+    }
+
+    @Test
+    void testTimeout() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String stuckJobId = MockKlaviyoServer.STUCK_PREFIX + "wait-job-003";
+
+        WaitForCompletion task = WaitForCompletion.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .jobIds(Property.ofValue(List.of(stuckJobId, "wait-job-004")))
+            .initialInterval(Property.ofValue(Duration.ofMillis(100)))
+            .timeout(Property.ofValue(Duration.ofSeconds(1)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        WaitForCompletion.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(2L));
+        assertThat(output.getPendingJobIds(), is(List.of(stuckJobId)));
+    }
+}
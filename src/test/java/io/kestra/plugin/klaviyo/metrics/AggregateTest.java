@@ -0,0 +1,169 @@
+package io.kestra.plugin.klaviyo.metrics;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.KlaviyoApiException;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class AggregateTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    void testSplitByInterval() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Aggregate task = Aggregate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .metricId(Property.ofValue("metric-interval"))
+            .measurements(Property.ofValue(List.of("count", "sum_value")))
+            .by(Property.ofValue(List.of("$message")))
+            .startDate(Property.ofValue("2024-01-01"))
+            .endDate(Property.ofValue("2024-03-01"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Aggregate.Output output = task.run(runContext);
+
+        assertThat(output.getQueryCount(), is(2));
+        assertThat(mockKlaviyoServer.aggregateQueries("metric-interval"), is(2));
+        assertThat(output.getSize(), is(60L * 2));
+
+        assertThat(output.getRows().getFirst(), is(Map.of("date", "2024-01-01T00:00Z", "$message", "message-a", "count", 1, "sum_value", 10.0)));
+        assertThat(output.getRows().get(1).get("$message"), is("message-b"));
+        assertThat(output.getRows().getLast().get("date"), is("2024-02-29T00:00Z"));
+
+        List<String> dates = output.getRows().stream().map(row -> (String) row.get("date")).toList();
+        assertThat(dates, is(dates.stream().sorted().toList()));
+    }
+
+    @Test
+    void testSplitByDimension() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Aggregate task = Aggregate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .metricId(Property.ofValue("metric-split"))
+            .startDate(Property.ofValue("2024-01-01"))
+            .endDate(Property.ofValue("2024-01-11"))
+            .splitBy(Property.ofValue("$attributed_flow"))
+            .splitValues(Property.ofValue(List.of("flow-1", "flow-2")))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Aggregate.Output output = task.run(runContext);
+
+        assertThat(output.getQueryCount(), is(2));
+        assertThat(output.getSize(), is(20L));
+        assertThat(output.getRows().getFirst(), is(Map.of("date", "2024-01-01T00:00Z", "$attributed_flow", "flow-1", "count", 1)));
+        assertThat(output.getRows().getLast().get("$attributed_flow"), is("flow-2"));
+    }
+
+    @Test
+    void testQueryTooLarge() {
+        RunContext runContext = runContextFactory.of();
+
+        Aggregate task = Aggregate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .metricId(Property.ofValue("metric-too-large"))
+            .startDate(Property.ofValue("2024-01-01"))
+            .endDate(Property.ofValue("2024-03-01"))
+            .maxRangePerQuery(Property.ofValue(Duration.ofDays(MockKlaviyoServer.MAX_AGGREGATE_DAYS * 2)))
+            .build();
+
+        KlaviyoApiException exception = assertThrows(KlaviyoApiException.class, () -> task.run(runContext));
+        assertThat(exception.getStatus(), is(400));
+    }
+
+    @Test
+    void testQueries() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-03-01T00:00:00Z");
+
+        List<Aggregate.Query> queries = Aggregate.queries(from, to, Duration.ofDays(30), ChronoUnit.DAYS, ZoneOffset.UTC, List.of("a", "b"));
+
+        assertThat(queries, hasSize(4));
+        assertThat(queries.stream().map(Aggregate.Query::splitValue).toList(), is(List.of("a", "b", "a", "b")));
+        assertThat(queries.get(2).from(), is(Instant.parse("2024-01-31T00:00:00Z")));
+        assertThat(queries.getLast().to(), is(to));
+    }
+
+    @Test
+    void testQueriesAlignedOnDaysInTimezone() {
+        ZoneId paris = ZoneId.of("Europe/Paris");
+        Instant from = Instant.parse("2024-02-29T23:00:00Z");
+        Instant to = Instant.parse("2024-03-31T22:00:00Z");
+
+        List<Aggregate.Query> queries = Aggregate.queries(from, to, Duration.ofDays(7), ChronoUnit.DAYS, paris, List.of());
+
+        assertThat(queries, hasSize(5));
+        assertThat(queries.get(1).from(), is(Instant.parse("2024-03-07T23:00:00Z")));
+        assertThat(queries.getLast().to(), is(to));
+        for (Aggregate.Query query : queries) {
+            assertThat(query.from().atZone(paris).toLocalTime(), is(LocalTime.MIDNIGHT));
+            assertThat(query.to().atZone(paris).toLocalTime(), is(LocalTime.MIDNIGHT));
+        }
+    }
+
+    @Test
+    void testQueriesAlignedOnMonths() {
+        Instant from = Instant.parse("2024-01-01T00:00:00Z");
+        Instant to = Instant.parse("2024-04-01T00:00:00Z");
+
+        List<Aggregate.Query> queries = Aggregate.queries(from, to, Duration.ofDays(30), ChronoUnit.MONTHS, ZoneOffset.UTC, List.of());
+
+        assertThat(queries.stream().map(Aggregate.Query::from).toList(), is(List.of(
+            from,
+            Instant.parse("2024-02-01T00:00:00Z"),
+            Instant.parse("2024-03-01T00:00:00Z")
+        )));
+        assertThat(queries.getLast().to(), is(to));
+    }
+
+    @Test
+    void testPaginatedAggregate() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String metricId = MockKlaviyoServer.PAGED_PREFIX + "metric";
+
+        Aggregate task = Aggregate.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .metricId(Property.ofValue(metricId))
+            .by(Property.ofValue(List.of("$message")))
+            .startDate(Property.ofValue("2024-01-01"))
+            .endDate(Property.ofValue("2024-01-04"))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        Aggregate.Output output = task.run(runContext);
+
+        assertThat(output.getQueryCount(), is(1));
+        assertThat(mockKlaviyoServer.aggregateQueries(metricId), is(2));
+        assertThat(output.getSize(), is(3L * 2));
+        assertThat(output.getRows().stream().map(row -> row.get("$message")).distinct().toList(), is(List.of("message-a", "message-b")));
+    }
+}
@@ -0,0 +1,206 @@
+package io.kestra.plugin.klaviyo.profiles;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.FileFormat;
+import io.kestra.plugin.klaviyo.KlaviyoApiException;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class BulkImportTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportIonInJobs() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            for (int i = 1; i <= 5; i++) {
+                FileSerde.write(output, Map.of("email", "user" + i + "@example.com", "first_name", "User " + i));
+            }
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        BulkImport task = BulkImport.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .listIds(Property.ofValue(List.of("list-001")))
+            .maxProfilesPerJob(Property.ofValue(2))
+            .initialInterval(Property.ofValue(Duration.ofMillis(100)))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        BulkImport.Output output = task.run(runContext);
+
+        assertThat(output.getProfileCount(), is(5L));
+        assertThat(output.getJobIds(), hasSize(3));
+        assertThat(output.getPendingJobIds(), is(empty()));
+        assertThat(output.getFailedCount(), is(0L));
+        assertThat(output.getRows().stream().map(job -> job.get("id")).toList(), is(output.getJobIds()));
+
+        for (Map<String, Object> job : output.getRows()) {
+            assertThat(((Map<String, Object>) job.get("attributes")).get("status"), is("complete"));
+        }
+
+        List<String> emails = output.getJobIds().stream()
+            .flatMap(jobId -> mockKlaviyoServer.importedProfiles(jobId).stream())
+            .map(profile -> (String) ((Map<String, Object>) profile.get("attributes")).get("email"))
+            .toList();
+        assertThat(emails, contains("user1@example.com", "user2@example.com", "user3@example.com", "user4@example.com", "user5@example.com"));
+        assertThat(mockKlaviyoServer.importedProfiles(output.getJobIds().getLast()), hasSize(1));
+
+        Map<String, Object> data = (Map<String, Object>) mockKlaviyoServer.profileImportJob(output.getJobIds().getFirst()).get("data");
+        Map<String, Object> lists = (Map<String, Object>) ((Map<String, Object>) data.get("relationships")).get("lists");
+        assertThat(lists.get("data"), is(List.of(Map.of("type", "list", "id", "list-001"))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCsvWithoutWaiting() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        File file = runContext.workingDir().createTempFile(".csv").toFile();
+        Files.writeString(file.toPath(), """
+            email,first_name,location.city,properties.plan
+            ada@example.com,Ada,London,pro
+            "grace@example.com","Grace ""Amazing""\",,free
+
+            ,No Email,Paris,
+            """, StandardCharsets.UTF_8);
+        URI uri = runContext.storage().putFile(file);
+
+        BulkImport task = BulkImport.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .format(Property.ofValue(FileFormat.CSV))
+            .wait(Property.ofValue(false))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        BulkImport.Output output = task.run(runContext);
+
+        assertThat(output.getProfileCount(), is(3L));
+        assertThat(output.getJobIds(), hasSize(1));
+        assertThat(output.getFailedCount(), is(nullValue()));
+        assertThat(((Map<String, Object>) output.getRows().getFirst().get("attributes")).get("status"), is("queued"));
+
+        List<Map<String, Object>> profiles = mockKlaviyoServer.importedProfiles(output.getJobIds().getFirst());
+        assertThat(profiles, hasSize(3));
+        assertThat(profiles.getFirst().get("type"), is("profile"));
+        assertThat(profiles.getFirst().get("attributes"), is(Map.of(
+            "email", "ada@example.com",
+            "first_name", "Ada",
+            "location", Map.of("city", "London"),
+            "properties", Map.of("plan", "pro")
+        )));
+        assertThat(profiles.get(1).get("attributes"), is(Map.of(
+            "email", "grace@example.com",
+            "first_name", "Grace \"Amazing\"",
+            "properties", Map.of("plan", "free")
+        )));
+        assertThat(profiles.get(2).get("attributes"), is(Map.of(
+            "first_name", "No Email",
+            "location", Map.of("city", "Paris")
+        )));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportCsvWithByteOrderMark() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        File file = runContext.workingDir().createTempFile(".csv").toFile();
+        Files.writeString(file.toPath(), "\uFEFFemail,first_name\nbom@example.com,Bom\n", StandardCharsets.UTF_8);
+        URI uri = runContext.storage().putFile(file);
+
+        BulkImport task = BulkImport.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .format(Property.ofValue(FileFormat.CSV))
+            .wait(Property.ofValue(false))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        BulkImport.Output output = task.run(runContext);
+
+        List<Map<String, Object>> profiles = mockKlaviyoServer.importedProfiles(output.getJobIds().getFirst());
+        assertThat(profiles.getFirst().get("attributes"), is(Map.of("email", "bom@example.com", "first_name", "Bom")));
+    }
+
+    @Test
+    void testImportCsvWithConflictingColumns() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        File file = runContext.workingDir().createTempFile(".csv").toFile();
+        Files.writeString(file.toPath(), """
+            email,location,location.city
+            ada@example.com,UK,London
+            """, StandardCharsets.UTF_8);
+        URI uri = runContext.storage().putFile(file);
+
+        BulkImport task = BulkImport.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .format(Property.ofValue(FileFormat.CSV))
+            .wait(Property.ofValue(false))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+        assertThat(exception.getMessage(), containsString("`location` and `location.city` conflict"));
+    }
+
+    @Test
+    void testSubmissionIsNotRetriedOnServerError() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String listId = MockKlaviyoServer.UNAVAILABLE_PREFIX + "import-list";
+
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            FileSerde.write(output, Map.of("email", "retry@example.com"));
+        }
+        URI uri = runContext.storage().putFile(file);
+
+        BulkImport task = BulkImport.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .from(Property.ofValue(uri.toString()))
+            .listIds(Property.ofValue(List.of(listId)))
+            .initialBackoff(Property.ofValue(Duration.ofMillis(10)))
+            .wait(Property.ofValue(false))
+            .build();
+
+        KlaviyoApiException exception = assertThrows(KlaviyoApiException.class, () -> task.run(runContext));
+        assertThat(exception.getStatus(), is(503));
+        assertThat(mockKlaviyoServer.profileImportJobCount(listId), is(1L));
+    }
+}
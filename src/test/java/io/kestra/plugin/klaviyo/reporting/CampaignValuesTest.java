@@ -0,0 +1,82 @@
+package io.kestra.plugin.klaviyo.reporting;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class CampaignValuesTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStoreGroupedQuery() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        int requestsBefore = mockKlaviyoServer.reportRequests("campaign-values-report");
+
+        CampaignValues task = CampaignValues.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of("report-campaign-1", "report-campaign-2", "report-campaign-3", "report-campaign-1")))
+            .statistics(Property.ofValue(List.of("opens_unique", "clicks_unique")))
+            .conversionMetricId(Property.ofValue("metric-placed-order"))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build();
+
+        AbstractKlaviyoTask.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(mockKlaviyoServer.reportRequests("campaign-values-report") - requestsBefore, is(2));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Map<String, Object>> rows = FileSerde.readAll(reader)
+                .map(row -> (Map<String, Object>) row)
+                .collectList()
+                .block();
+
+            assertThat(rows.stream().map(row -> row.get("campaign_id")).toList(), is(List.of("report-campaign-1", "report-campaign-2", "report-campaign-3")));
+            assertThat(rows.getFirst(), is(Map.of(
+                "send_channel", "email",
+                "campaign_id", "report-campaign-1",
+                "campaign_message_id", "report-campaign-1-message",
+                "opens_unique", 10,
+                "clicks_unique", 10
+            )));
+        }
+    }
+
+    @Test
+    void testCustomTimeframeNeedsBothDates() {
+        RunContext runContext = runContextFactory.of();
+
+        CampaignValues task = CampaignValues.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .campaignIds(Property.ofValue(List.of("report-campaign-1")))
+            .statistics(Property.ofValue(List.of("opens_unique")))
+            .conversionMetricId(Property.ofValue("metric-placed-order"))
+            .startDate(Property.ofValue("2024-01-01"))
+            .build();
+
+        assertThrows(IllegalArgumentException.class, () -> task.run(runContext));
+    }
+}
@@ -0,0 +1,50 @@
+package io.kestra.plugin.klaviyo.reporting;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTask;
+import io.kestra.plugin.klaviyo.AbstractKlaviyoTest;
+import io.kestra.plugin.klaviyo.MockKlaviyoServer;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class FlowValuesTest extends AbstractKlaviyoTest {
+    @Inject
+    private MockKlaviyoServer mockKlaviyoServer;
+
+    @Test
+    void testBatches() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        int requestsBefore = mockKlaviyoServer.reportRequests("flow-values-report");
+
+        FlowValues task = FlowValues.builder()
+            .apiKey(Property.ofValue("test-api-key"))
+            .baseUrl(Property.ofValue(server.getURI() + "/api"))
+            .flowIds(Property.ofValue(List.of("report-flow-1", "report-flow-2", "report-flow-3")))
+            .statistics(Property.ofValue(List.of("conversions", "conversion_value")))
+            .conversionMetricId(Property.ofValue("metric-placed-order"))
+            .startDate(Property.ofValue("2024-01-01"))
+            .endDate(Property.ofValue("2024-02-01"))
+            .batchSize(Property.ofValue(2))
+            .fetchType(Property.ofValue(FetchType.FETCH))
+            .build();
+
+        AbstractKlaviyoTask.Output output = task.run(runContext);
+
+        assertThat(output.getSize(), is(3L));
+        assertThat(mockKlaviyoServer.reportRequests("flow-values-report") - requestsBefore, is(2));
+        assertThat(output.getRows().stream().map(row -> row.get("flow_id")).toList(), is(List.of("report-flow-1", "report-flow-2", "report-flow-3")));
+        assertThat(output.getRows().getLast().get("flow_message_id"), is("report-flow-3-message"));
+        assertThat(output.getRows().getLast().get("conversion_value"), is(10));
+    }
+}